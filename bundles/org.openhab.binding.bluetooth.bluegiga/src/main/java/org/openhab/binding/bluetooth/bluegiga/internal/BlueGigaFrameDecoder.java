@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the byte stream received from the BlueGiga controller into BGAPI packets.
+ *
+ * Bytes are read from the stream in blocks into a ring buffer and complete packets are sliced out of it. The BGAPI
+ * protocol has no packet framing and no error detection, so a few sanity checks are done on the header to allow
+ * resynchronisation. If a header check fails, the first byte is dropped and decoding restarts at the next byte.
+ * This class is not thread safe, it is meant to be used by the thread reading the stream.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFrameDecoder {
+
+    static final int BLE_MAX_LENGTH = 64;
+
+    // must be a power of two and well above BLE_MAX_LENGTH
+    private static final int BUFFER_SIZE = 1024;
+    private static final int HEADER_LENGTH = 4;
+    // Byte 0: Check technology type is bluetooth and high length is 0
+    // Byte 1: Check length is less than 64 bytes
+    // Byte 2: Check class ID is less than 8
+    private static final int[] FRAME_CHECK = { 0x7F, 0xC0, 0xF8 };
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaFrameDecoder.class);
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    // positions of the first unread and the first free byte, the buffer index is position & (BUFFER_SIZE - 1)
+    private int head = 0;
+    private int tail = 0;
+    private long frameCount = 0;
+    private long framingErrorCount = 0;
+
+    /**
+     * Reads the available bytes from a stream into the buffer, blocking until at least one byte is available. Must
+     * only be called while {@link #nextFrame()} returns null, the buffer then has room for at least one more packet.
+     *
+     * @param inputStream the stream to read from
+     * @return the number of bytes read, -1 if the end of the stream has been reached
+     * @throws IOException if reading from the stream failed
+     */
+    public int fill(InputStream inputStream) throws IOException {
+        int offset = tail & (BUFFER_SIZE - 1);
+        // read up to the end of the array, the next call continues at its start
+        int length = Math.min(BUFFER_SIZE - (tail - head), BUFFER_SIZE - offset);
+        int read = inputStream.read(buffer, offset, length);
+        if (read > 0) {
+            tail += read;
+        }
+        return read;
+    }
+
+    /**
+     * Appends bytes to the buffer. Must only be called while {@link #nextFrame()} returns null.
+     *
+     * @param data the bytes
+     * @param offset the index of the first byte
+     * @param length the number of bytes, at most the free space in the buffer
+     */
+    public void feed(byte[] data, int offset, int length) {
+        if (length > BUFFER_SIZE - (tail - head)) {
+            throw new IllegalArgumentException("Not enough space in the frame buffer for " + length + " bytes");
+        }
+        for (int i = 0; i < length; i++) {
+            buffer[tail++ & (BUFFER_SIZE - 1)] = data[offset + i];
+        }
+    }
+
+    /**
+     * Takes the next complete packet from the buffer.
+     *
+     * @return the packet as expected by {@link BlueGigaResponsePackets#getPacket(int[])}, null if more bytes are needed
+     */
+    public int @Nullable [] nextFrame() {
+        while (tail - head > 0) {
+            int available = tail - head;
+            if (!checkHeader(Math.min(available, FRAME_CHECK.length))) {
+                head++;
+                framingErrorCount++;
+                continue;
+            }
+            if (available < HEADER_LENGTH) {
+                return null;
+            }
+            int length = byteAt(1) + HEADER_LENGTH;
+            if (length > BLE_MAX_LENGTH) {
+                logger.debug("Received illegal BLE packet, length larger than max {} bytes ({})", BLE_MAX_LENGTH,
+                        length);
+                head++;
+                framingErrorCount++;
+                continue;
+            }
+            if (available < length) {
+                return null;
+            }
+            int[] frame = new int[length];
+            for (int i = 0; i < length; i++) {
+                frame[i] = byteAt(i);
+            }
+            head += length;
+            frameCount++;
+            return frame;
+        }
+        return null;
+    }
+
+    private boolean checkHeader(int count) {
+        for (int i = 0; i < count; i++) {
+            int value = byteAt(i);
+            if ((value & FRAME_CHECK[i]) != 0) {
+                logger.debug("BlueGiga framing error byte {} = {}", i + 1, value);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int byteAt(int index) {
+        return buffer[(head + index) & (BUFFER_SIZE - 1)] & 0xFF;
+    }
+
+    /**
+     * Returns the number of bytes in the buffer which are not yet part of a returned packet.
+     */
+    public int getBufferedCount() {
+        return tail - head;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the number of bytes dropped to resynchronise after a header check failed.
+     */
+    public long getFramingErrorCount() {
+        return framingErrorCount;
+    }
+}
@@ -17,6 +17,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -105,6 +106,9 @@ class BlueGigaResponsePackets {
 
     private static final Map<Integer, Class<?>> packetMap = new HashMap<>();
 
+    // constructors of the packet classes by packet key, resolved on first use of a packet type
+    private static final Map<Integer, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
     static {
         packetMap.put(Objects.hash(0x00, 0x06, true), BlueGigaProtocolErrorEvent.class);
         packetMap.put(Objects.hash(0x00, 0x02, true), BlueGigaEndpointWatermarkRxEvent.class);
@@ -185,16 +189,19 @@ class BlueGigaResponsePackets {
         int cmdMethod = data[3];
         boolean isEvent = (data[0] & 0x80) != 0;
 
-        Class<?> bleClass = packetMap.get(Objects.hash(cmdClass, cmdMethod, isEvent));
+        int key = Objects.hash(cmdClass, cmdMethod, isEvent);
+        Class<?> bleClass = packetMap.get(key);
 
         if (bleClass == null) {
             return null;
         }
 
-        Constructor<?> ctor;
-
         try {
-            ctor = bleClass.getConstructor(int[].class);
+            Constructor<?> ctor = constructors.get(key);
+            if (ctor == null) {
+                ctor = bleClass.getConstructor(int[].class);
+                constructors.put(key, ctor);
+            }
             BlueGigaResponse bleFrame = (BlueGigaResponse) ctor.newInstance(data);
             return bleFrame;
         } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
@@ -12,12 +12,12 @@
  */
 package org.openhab.binding.bluetooth.bluegiga.internal;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
@@ -65,7 +65,11 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
      */
     private final Set<BlueGigaEventListener> eventListeners = new CopyOnWriteArraySet<>();
 
-    private final Queue<BlueGigaUniqueCommand> sendQueue = new LinkedList<>();
+    /**
+     * Commands waiting to be sent. Frames are queued by the waiting transactions without locking, only taking the next
+     * frame is serialised with the ongoing transaction.
+     */
+    private final Queue<BlueGigaUniqueCommand> sendQueue = new ConcurrentLinkedQueue<>();
     private final ScheduledExecutorService executor;
     private final BlueGigaSerialHandler serialHandler;
 
@@ -123,19 +127,12 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
 
     @SuppressWarnings({ "null", "unused" })
     private Optional<BlueGigaUniqueCommand> getNextFrame() {
-        while (!sendQueue.isEmpty()) {
-            BlueGigaUniqueCommand frame = sendQueue.poll();
-            if (frame != null) {
-                if (frame.getMessage() != null) {
-                    return Optional.of(frame);
-                } else {
-                    logger.debug("Null message found from queue, skip it");
-                    continue;
-                }
-            } else {
-                logger.debug("Null frame found from queue, skip it");
-                continue;
+        BlueGigaUniqueCommand frame;
+        while ((frame = sendQueue.poll()) != null) {
+            if (frame.getMessage() != null) {
+                return Optional.of(frame);
             }
+            logger.debug("Null message found from queue, skip it");
         }
         return Optional.empty();
     }
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+
+/**
+ * Tests {@link BlueGigaFrameDecoder} by replaying BGAPI byte streams.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFrameDecoderTest {
+
+    // gap scan response event, RSSI -60, sender 00:07:80:12:34:56, flags AD structure
+    private static final int[] SCAN_RESPONSE = { 0x80, 0x0E, 0x06, 0x00, 0xC4, 0x00, 0x56, 0x34, 0x12, 0x80, 0x07,
+            0x00, 0x00, 0xFF, 0x03, 0x02, 0x01, 0x06 };
+    // system hello response
+    private static final int[] HELLO_RESPONSE = { 0x00, 0x00, 0x00, 0x01 };
+
+    private static byte[] stream(int[]... packets) {
+        List<Byte> bytes = new ArrayList<>();
+        for (int[] packet : packets) {
+            for (int b : packet) {
+                bytes.add((byte) b);
+            }
+        }
+        byte[] result = new byte[bytes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bytes.get(i);
+        }
+        return result;
+    }
+
+    private static List<int[]> replay(byte[] stream, int chunkSize) throws IOException {
+        // deliver the stream in chunks like a serial port does
+        InputStream inputStream = new ByteArrayInputStream(stream) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, chunkSize));
+            }
+        };
+        BlueGigaFrameDecoder decoder = new BlueGigaFrameDecoder();
+        List<int[]> packets = new ArrayList<>();
+        while (decoder.fill(inputStream) != -1) {
+            int[] packet;
+            while ((packet = decoder.nextFrame()) != null) {
+                packets.add(packet);
+            }
+        }
+        return packets;
+    }
+
+    @Test
+    public void testPacketsSplitAcrossReads() throws IOException {
+        int[][] packets = new int[200][];
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = i % 10 == 0 ? HELLO_RESPONSE : SCAN_RESPONSE;
+        }
+        byte[] stream = stream(packets);
+
+        for (int chunkSize : new int[] { 1, 3, 17, 64, 1024 }) {
+            List<int[]> decoded = replay(stream, chunkSize);
+            assertEquals(packets.length, decoded.size());
+            for (int i = 0; i < packets.length; i++) {
+                assertArrayEquals(packets[i], decoded.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testResynchronisesAfterGarbage() throws IOException {
+        int[] garbage = { 0xFF, 0x12, 0x40 };
+        List<int[]> decoded = replay(stream(garbage, SCAN_RESPONSE, garbage, HELLO_RESPONSE), 5);
+
+        assertEquals(2, decoded.size());
+        assertArrayEquals(SCAN_RESPONSE, decoded.get(0));
+        assertArrayEquals(HELLO_RESPONSE, decoded.get(1));
+    }
+
+    @Test
+    public void testDecodedPacketIsParsed() {
+        BlueGigaFrameDecoder decoder = new BlueGigaFrameDecoder();
+        byte[] stream = stream(SCAN_RESPONSE);
+        decoder.feed(stream, 0, stream.length);
+
+        int[] packet = decoder.nextFrame();
+        assertNotNull(packet);
+        assertNull(decoder.nextFrame());
+        assertEquals(0, decoder.getBufferedCount());
+
+        BlueGigaResponse response = BlueGigaResponsePackets.getPacket(packet);
+        assertTrue(response instanceof BlueGigaScanResponseEvent);
+        BlueGigaScanResponseEvent event = (BlueGigaScanResponseEvent) response;
+        assertEquals(-60, event.getRssi());
+        assertEquals("00:07:80:12:34:56", event.getSender());
+    }
+}
@@ -42,6 +42,9 @@ import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 @NonNullByDefault
 public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
+    // dBm by which another adapter has to receive the device better than the current one to become the delegate
+    private static final int ROAMING_RSSI_HYSTERESIS = 3;
+
     private final Map<BluetoothDevice, Listener> devices = new ConcurrentHashMap<>();
 
     private final List<BluetoothDeviceListener> eventListeners = new CopyOnWriteArrayList<>();
@@ -70,12 +73,15 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
     @Override
     protected @Nullable BluetoothDevice getDelegate() {
+        BluetoothDevice currentDelegate = currentDelegateRef.get();
         BluetoothDevice newDelegate = null;
         int newRssi = Integer.MIN_VALUE;
+        boolean connected = false;
         for (BluetoothDevice device : devices.keySet()) {
             ConnectionState state = device.getConnectionState();
             if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
                 newDelegate = device;
+                connected = true;
                 break;
             }
             Integer rssi = device.getRssi();
@@ -84,6 +90,15 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
                 newDelegate = device;
             }
         }
+        if (!connected && currentDelegate != null && newDelegate != currentDelegate
+                && devices.containsKey(currentDelegate)) {
+            // only roam to another adapter if it receives the device clearly better, so that adapters receiving it
+            // about equally well do not take turns
+            Integer currentRssi = currentDelegate.getRssi();
+            if (currentRssi != null && newRssi < currentRssi + ROAMING_RSSI_HYSTERESIS) {
+                newDelegate = currentDelegate;
+            }
+        }
         BluetoothDevice oldDelegate = currentDelegateRef.getAndSet(newDelegate);
         if (oldDelegate != newDelegate) { // using reference comparison is valid in this case
             notifyListeners(BluetoothEventType.ADAPTER_CHANGED, getAdapter(newDelegate));
@@ -24,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.notification.ScanNotificationFilter;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -88,6 +89,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
+        synchronized (devices) {
+            devices.values().forEach(device -> device.setScanNotificationFilter(createScanNotificationFilter()));
+        }
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
@@ -187,10 +191,18 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public BD getDevice(BluetoothAddress address) {
         synchronized (devices) {
-            return Objects.requireNonNull(devices.computeIfAbsent(address, this::createDevice));
+            return Objects.requireNonNull(devices.computeIfAbsent(address, addr -> {
+                BD device = createDevice(addr);
+                device.setScanNotificationFilter(createScanNotificationFilter());
+                return device;
+            }));
         }
     }
 
+    private ScanNotificationFilter createScanNotificationFilter() {
+        return new ScanNotificationFilter(config.advertisementDeduplicationWindow, config.rssiUpdateInterval);
+    }
+
     protected abstract BD createDevice(BluetoothAddress address);
 
     @Override
@@ -26,4 +26,6 @@ public class BaseBluetoothBridgeHandlerConfiguration {
     public boolean backgroundDiscovery = false;
     public int inactiveDeviceCleanupInterval = 60;
     public int inactiveDeviceCleanupThreshold = 300;
+    public int advertisementDeduplicationWindow = 10;
+    public int rssiUpdateInterval = 1;
 }
@@ -19,6 +19,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.binding.bluetooth.notification.ScanNotificationFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,6 +88,11 @@ public abstract class BluetoothDevice {
      */
     protected final BluetoothAddress address;
 
+    /**
+     * Decides which scan records are passed on to the listeners
+     */
+    private volatile ScanNotificationFilter scanNotificationFilter = ScanNotificationFilter.passAll();
+
     /**
      * Construct a Bluetooth device taking the Bluetooth address
      *
@@ -376,6 +382,15 @@ public abstract class BluetoothDevice {
 
     protected abstract Collection<BluetoothDeviceListener> getListeners();
 
+    /**
+     * Sets the filter for the scan records passed on to the listeners, which by default get all of them.
+     *
+     * @param scanNotificationFilter the {@link ScanNotificationFilter} to use
+     */
+    public void setScanNotificationFilter(ScanNotificationFilter scanNotificationFilter) {
+        this.scanNotificationFilter = scanNotificationFilter;
+    }
+
     /**
      * Notify the listeners of an event
      *
@@ -383,6 +398,10 @@ public abstract class BluetoothDevice {
      * @param args an array of arguments to pass to the callback
      */
     protected void notifyListeners(BluetoothEventType event, Object... args) {
+        if (event == BluetoothEventType.SCAN_RECORD
+                && !scanNotificationFilter.accept((BluetoothScanNotification) args[0])) {
+            return;
+        }
         for (BluetoothDeviceListener listener : getListeners()) {
             try {
                 switch (event) {
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.notification;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+
+/**
+ * Decides which {@link BluetoothScanNotification}s of a device are passed on to its listeners.
+ *
+ * The last passed values are remembered per beacon type, as adapters scanning actively alternate advertisements and
+ * scan responses with different payloads. A notification which carries data, manufacturer data or a name differing
+ * from the last passed notification of its beacon type is always passed on. Otherwise it is dropped within the
+ * deduplication window if it has no RSSI or the same RSSI as the last passed one, and within the RSSI update interval
+ * if only its RSSI differs. Notifications carrying only some of the values, as some adapters send them, are compared
+ * by the values they carry. A window or interval of 0 disables the respective filtering.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ScanNotificationFilter {
+
+    private final long deduplicationWindow;
+    private final long rssiUpdateInterval;
+
+    // last passed values by beacon type, guarded by this
+    private final Map<BluetoothBeaconType, PassedValues> passed = new EnumMap<>(BluetoothBeaconType.class);
+    private long droppedCount = 0;
+
+    private static class PassedValues {
+        private long time;
+        private int rssi = Integer.MIN_VALUE;
+        private byte @Nullable [] data;
+        private byte @Nullable [] manufacturerData;
+        private @Nullable String deviceName;
+    }
+
+    /**
+     * @param deduplicationWindow seconds in which identical notifications are dropped
+     * @param rssiUpdateInterval minimum seconds between notifications which only differ in their RSSI
+     */
+    public ScanNotificationFilter(int deduplicationWindow, int rssiUpdateInterval) {
+        this.deduplicationWindow = TimeUnit.SECONDS.toNanos(deduplicationWindow);
+        this.rssiUpdateInterval = TimeUnit.SECONDS.toNanos(rssiUpdateInterval);
+    }
+
+    /**
+     * A filter which passes all notifications.
+     */
+    public static ScanNotificationFilter passAll() {
+        return new ScanNotificationFilter(0, 0);
+    }
+
+    /**
+     * Checks whether a notification is to be passed on and remembers it if so.
+     *
+     * @param notification the received notification
+     * @return true if the notification should be passed on
+     */
+    public boolean accept(BluetoothScanNotification notification) {
+        return accept(notification, System.nanoTime());
+    }
+
+    synchronized boolean accept(BluetoothScanNotification notification, long now) {
+        int newRssi = notification.getRssi();
+        PassedValues last = passed.get(notification.getBeaconType());
+        if (last != null && !contentChanged(last, notification)) {
+            boolean rssiChanged = newRssi != Integer.MIN_VALUE && newRssi != last.rssi;
+            long interval = rssiChanged ? rssiUpdateInterval : deduplicationWindow;
+            if (now - last.time < interval) {
+                droppedCount++;
+                return false;
+            }
+        }
+        if (last == null) {
+            last = new PassedValues();
+            passed.put(notification.getBeaconType(), last);
+        }
+        last.time = now;
+        if (newRssi != Integer.MIN_VALUE) {
+            last.rssi = newRssi;
+        }
+        byte[] newData = notification.getData();
+        if (newData != null) {
+            last.data = newData;
+        }
+        byte[] newManufacturerData = notification.getManufacturerData();
+        if (newManufacturerData != null) {
+            last.manufacturerData = newManufacturerData;
+        }
+        String newDeviceName = notification.getDeviceName();
+        if (newDeviceName != null && !newDeviceName.isEmpty()) {
+            last.deviceName = newDeviceName;
+        }
+        return true;
+    }
+
+    private boolean contentChanged(PassedValues last, BluetoothScanNotification notification) {
+        byte[] newData = notification.getData();
+        byte[] newManufacturerData = notification.getManufacturerData();
+        String newDeviceName = notification.getDeviceName();
+        return (newData != null && !Arrays.equals(last.data, newData))
+                || (newManufacturerData != null && !Arrays.equals(last.manufacturerData, newManufacturerData))
+                || (newDeviceName != null && !newDeviceName.isEmpty() && !newDeviceName.equals(last.deviceName));
+    }
+
+    /**
+     * Returns the number of notifications which have been dropped.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.notification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+
+/**
+ * Tests {@link ScanNotificationFilter}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ScanNotificationFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static BluetoothScanNotification notification(int rssi, byte... manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        notification.setManufacturerData(manufacturerData);
+        return notification;
+    }
+
+    private static BluetoothScanNotification typed(BluetoothBeaconType beaconType, byte... data) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(-60);
+        notification.setBeaconType(beaconType);
+        notification.setData(data);
+        return notification;
+    }
+
+    @Test
+    public void testIdenticalNotificationsAreDeduplicated() {
+        ScanNotificationFilter filter = new ScanNotificationFilter(10, 1);
+
+        assertTrue(filter.accept(notification(-60, (byte) 1), 0));
+        assertFalse(filter.accept(notification(-60, (byte) 1), 5 * SECOND));
+        assertTrue(filter.accept(notification(-60, (byte) 1), 10 * SECOND));
+        assertEquals(1, filter.getDroppedCount());
+    }
+
+    @Test
+    public void testChangedDataIsPassedImmediately() {
+        ScanNotificationFilter filter = new ScanNotificationFilter(10, 1);
+
+        assertTrue(filter.accept(notification(-60, (byte) 1), 0));
+        assertTrue(filter.accept(notification(-60, (byte) 2), 1));
+    }
+
+    @Test
+    public void testRssiUpdatesAreRateLimited() {
+        ScanNotificationFilter filter = new ScanNotificationFilter(10, 1);
+
+        assertTrue(filter.accept(notification(-60, (byte) 1), 0));
+        assertFalse(filter.accept(notification(-61, (byte) 1), SECOND / 2));
+        assertTrue(filter.accept(notification(-62, (byte) 1), SECOND));
+        assertFalse(filter.accept(notification(-62, (byte) 1), 2 * SECOND));
+    }
+
+    @Test
+    public void testPartialNotificationsAreComparedByTheirValues() {
+        ScanNotificationFilter filter = new ScanNotificationFilter(10, 1);
+        BluetoothScanNotification rssiOnly = new BluetoothScanNotification();
+        rssiOnly.setRssi(-70);
+
+        assertTrue(filter.accept(notification(-60, (byte) 1), 0));
+        assertTrue(filter.accept(rssiOnly, 2 * SECOND));
+        // the manufacturer data has not changed
+        BluetoothScanNotification dataOnly = new BluetoothScanNotification();
+        dataOnly.setManufacturerData(new byte[] { 1 });
+        assertFalse(filter.accept(dataOnly, 3 * SECOND));
+    }
+
+    @Test
+    public void testAlternatingAdvertisementsAndScanResponsesAreDeduplicated() {
+        ScanNotificationFilter filter = new ScanNotificationFilter(10, 1);
+
+        for (int i = 0; i < 10; i++) {
+            boolean first = i == 0;
+            assertEquals(first, filter.accept(typed(BluetoothBeaconType.BEACON_ADVERTISEMENT, (byte) 1, (byte) 2),
+                    i * SECOND));
+            assertEquals(first, filter.accept(typed(BluetoothBeaconType.BEACON_SCANRESPONSE, (byte) 3, (byte) 4),
+                    i * SECOND + SECOND / 10));
+        }
+        assertEquals(18, filter.getDroppedCount());
+        // a changed scan response is passed although the advertisement is unchanged
+        assertFalse(filter.accept(typed(BluetoothBeaconType.BEACON_ADVERTISEMENT, (byte) 1, (byte) 2), 9 * SECOND));
+        assertTrue(filter.accept(typed(BluetoothBeaconType.BEACON_SCANRESPONSE, (byte) 5), 9 * SECOND));
+    }
+
+    @Test
+    public void testPassAll() {
+        ScanNotificationFilter filter = ScanNotificationFilter.passAll();
+
+        assertTrue(filter.accept(notification(-60, (byte) 1), 0));
+        assertTrue(filter.accept(notification(-60, (byte) 1), 0));
+    }
+}
@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +67,9 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    // upper limit of the pause between reads while the bus does not answer them
+    private static final long MAX_READING_PAUSE = 5000;
+    private static final int MAX_BACKOFF_SHIFT = 6;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -85,8 +91,19 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // group addresses by registered listener, guarded by itself
+    private final Map<GroupAddressListener, Set<GroupAddress>> groupAddressListeners = new HashMap<>();
+    // registered listeners by group address, to find the listeners of a telegram without asking all of them
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final ReadQueue readDatapoints = new ReadQueue();
+
+    // state of the read loop, guarded by readerLock together with busJob
+    private final Object readerLock = new Object();
+    private boolean reading = false;
+    private int readerGeneration = 0;
+    // only accessed by the read loop
+    private int failedReads = 0;
+    private long smoothedReadLatency = -1;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -196,8 +213,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            startReading();
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -224,8 +240,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @SuppressWarnings("null")
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
-        busJob = nullify(busJob, j -> j.cancel(true));
+        stopReading();
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -252,11 +267,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        Set<GroupAddressListener> listeners = listenersByGroupAddress.get(destination);
+        if (listeners == null || listeners.isEmpty()) {
+            return;
         }
+        // one task per telegram, which notifies all listeners of the group address
+        knxScheduler.schedule(() -> {
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("Error processing a {} telegram to '{}': {}", task, destination, e.getMessage(), e);
+                }
+            }
+        }, 0, TimeUnit.SECONDS);
     }
 
     /**
@@ -271,34 +295,91 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
+    private void startReading() {
+        synchronized (readerLock) {
+            reading = true;
+            failedReads = 0;
+            int generation = ++readerGeneration;
+            busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
     @SuppressWarnings("null")
-    private void readNextQueuedDatapoint() {
+    private void stopReading() {
+        synchronized (readerLock) {
+            reading = false;
+            busJob = nullify(busJob, j -> j.cancel(true));
+        }
+        readDatapoints.clear();
+    }
+
+    /**
+     * Sends the next queued read and schedules the following one, unless the read loop has been stopped or restarted
+     * in the meantime.
+     */
+    private void readNextQueuedDatapoint(int generation) {
+        long pause = readingPause;
+        try {
+            pause = readQueuedDatapoint();
+        } finally {
+            synchronized (readerLock) {
+                if (reading && generation == readerGeneration) {
+                    busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), pause,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the next queued read.
+     *
+     * The read blocks until the bus answered it or the response timeout elapsed, so the bus already paces the reads.
+     * After an answered read only what is left of the reading pause is waited. After a failed read the pause doubles
+     * with every further failure, up to {@link #MAX_READING_PAUSE}.
+     *
+     * @return the pause in milliseconds before the next read
+     */
+    private long readQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
-            return;
+            return readingPause;
         }
         ProcessCommunicator processCommunicator = this.processCommunicator;
         if (processCommunicator == null) {
-            return;
+            return readingPause;
         }
         ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
+        if (datapoint == null) {
+            return readingPause;
+        }
+        datapoint.incrementRetries();
+        long start = System.nanoTime();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {} with priority {}",
+                    datapoint.getDatapoint().getMainAddress(), datapoint.getPriority());
+            processCommunicator.read(datapoint.getDatapoint());
+            long end = System.nanoTime();
+            long latency = end - datapoint.getQueuedAt();
+            // exponential moving average, each read contributes an eighth
+            smoothedReadLatency = smoothedReadLatency < 0 ? latency
+                    : smoothedReadLatency + (latency - smoothedReadLatency) / 8;
+            statusUpdateCallback.updateReadStatistics(readDatapoints.size(), Duration.ofNanos(smoothedReadLatency));
+            failedReads = 0;
+            return Math.max(0, readingPause - TimeUnit.NANOSECONDS.toMillis(end - start));
+        } catch (KNXException e) {
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                readDatapoints.add(datapoint);
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                        datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            } else {
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
             }
+            failedReads = Math.min(failedReads + 1, MAX_BACKOFF_SHIFT);
+            return Math.min(Math.max(readingPause, 1L) << failedReads, MAX_READING_PAUSE);
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted sending KNX read request");
+            return readingPause;
         }
     }
 
@@ -367,23 +448,44 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> previous = groupAddressListeners.put(listener, groupAddresses);
+            if (previous != null) {
+                removeFromIndex(listener, previous);
+            }
+            for (GroupAddress groupAddress : groupAddresses) {
+                listenersByGroupAddress.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(listener);
+            }
+            return previous == null;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> previous = groupAddressListeners.remove(listener);
+            if (previous == null) {
+                return false;
+            }
+            removeFromIndex(listener, previous);
+            return true;
+        }
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfPresent(groupAddress, (ga, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
     }
 
     @Override
@@ -24,11 +24,14 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
+    private final long queuedAt = System.nanoTime();
 
-    public ReadDatapoint(Datapoint datapoint, int limit) {
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
     }
 
     public Datapoint getDatapoint() {
@@ -47,6 +50,21 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Returns the value of {@link System#nanoTime()} when the read has been queued the first time.
+     */
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Reads are taken by {@link ReadPriority}, in the order they have been queued within a priority. There is at most one
+ * pending read per group address. Queuing a read of a group address which is already pending keeps the pending read and
+ * moves it up to the priority of the new one if that is higher. This class is thread safe.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ReadQueue {
+
+    // guarded by this
+    private final Map<ReadPriority, Map<GroupAddress, ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+
+    public ReadQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Queues a read unless a read of the same group address is pending.
+     *
+     * @param datapoint the read
+     * @return {@code true} if it has been queued, {@code false} if it has been merged into a pending read
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = pending.get(groupAddress);
+        if (queued == null) {
+            pending.put(groupAddress, datapoint);
+            queue(datapoint.getPriority()).put(groupAddress, datapoint);
+            return true;
+        }
+        if (datapoint.getPriority().compareTo(queued.getPriority()) < 0) {
+            queue(queued.getPriority()).remove(groupAddress);
+            queued.setPriority(datapoint.getPriority());
+            queue(queued.getPriority()).put(groupAddress, queued);
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next read.
+     *
+     * @return the oldest read of the highest priority, {@code null} if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        // EnumMap iterates in the order of the priorities
+        for (Map<GroupAddress, ReadDatapoint> queue : queues.values()) {
+            Iterator<ReadDatapoint> iterator = queue.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint datapoint = iterator.next();
+                iterator.remove();
+                pending.remove(datapoint.getDatapoint().getMainAddress());
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized void clear() {
+        queues.values().forEach(Map::clear);
+        pending.clear();
+    }
+
+    @SuppressWarnings("null")
+    private Map<GroupAddress, ReadDatapoint> queue(ReadPriority priority) {
+        return queues.get(priority);
+    }
+}
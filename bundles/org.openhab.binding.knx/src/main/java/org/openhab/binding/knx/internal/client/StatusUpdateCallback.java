@@ -12,12 +12,14 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 
 /**
- * Callback interface which enables the KNXClient implementations to update the thing status.
+ * Callback interface which enables the KNXClient implementations to update the thing status and the read statistics.
  *
  * @author Simon Kaufmann - initial contribution and API.
  *
@@ -38,4 +40,12 @@ public interface StatusUpdateCallback {
      * @param status
      */
     void updateStatus(ThingStatus status, ThingStatusDetail thingStatusDetail, String message);
+
+    /**
+     * Called after a read request has been answered by the bus
+     *
+     * @param queuedReads the number of read requests still waiting to be sent
+     * @param readLatency the smoothed time from queuing a read request until the bus answered it
+     */
+    void updateReadStatistics(int queuedReads, Duration readLatency);
 }
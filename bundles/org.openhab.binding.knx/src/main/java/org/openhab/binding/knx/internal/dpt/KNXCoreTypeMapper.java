@@ -14,8 +14,6 @@ package org.openhab.binding.knx.internal.dpt;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -25,6 +23,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -108,6 +108,27 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the decoders by KNX DPT id, empty for KNX DPT ids without translator */
+    private final Map<String, Optional<DptDecoder>> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * A KNX datapoint type resolved once for decoding its telegrams: the numbers of the DPT id, the openHAB type class
+     * and a translator, which is reused while holding its lock.
+     */
+    private static class DptDecoder {
+        private final DPTXlator translator;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+
+        private DptDecoder(DPTXlator translator, int mainNumber, int subNumber, Class<? extends Type> typeClass) {
+            this.translator = translator;
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+        }
+    }
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -673,14 +694,190 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DptDecoder decoder = getDecoder(datapoint);
+        if (decoder == null) {
+            return null;
+        }
+        logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
+        // the translator of a datapoint type is shared by all telegrams of that type
+        synchronized (decoder.translator) {
+            try {
+                decoder.translator.setData(data);
+                return decode(decoder, datapoint);
+            } catch (KNXFormatException kfe) {
+                logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
+                        datapoint.getDPT());
+            } catch (KNXIllegalArgumentException kiae) {
+                logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
+                        datapoint.getDPT());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts the data the translator of a decoder has been set to. The common datapoint types are converted from
+     * the numeric value of the translator, the string value is only created where it is needed.
+     */
+    private Type decode(DptDecoder decoder, Datapoint datapoint) throws KNXFormatException {
+        DPTXlator translator = decoder.translator;
+        String value = null;
+        /*
+         * Following code section deals with specific mapping of values from KNX to openHAB types were the String
+         * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
+         */
+        switch (decoder.mainNumber) {
+            case 1:
+                DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+                switch (decoder.subNumber) {
+                    case 8:
+                        return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+                    case 9:
+                        return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 10:
+                        return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
+                    case 19:
+                        return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 22:
+                        return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+                    default:
+                        return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
+                }
+            case 2:
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case 3:
+                DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
+                if (translator3BitControlled.getStepCode() == 0) {
+                    logger.debug("toType: KNX DPT_Control_Dimming: break received.");
+                    return UnDefType.UNDEF;
+                }
+                switch (decoder.subNumber) {
+                    case 7:
+                        return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
+                                : IncreaseDecreaseType.DECREASE;
+                    case 8:
+                        return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
+                }
+                break;
+            case 14:
+                // directly from the float, the string of DPTXlator4ByteFloat depends on the locale
+                return new DecimalType(((DPTXlator4ByteFloat) translator).getValueFloat());
+            case 18:
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (translator.getValue().startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                value = String.valueOf(decimalValue);
+
+                break;
+            case 19:
+                DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
+                if (translatorDateTime.isFaultyClock()) {
+                    // Not supported: faulty clock
+                    logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "/1/1" (month and day without year)
+                    logger.debug("toType: KNX clock msg ignored: no year, but day and month, which is not supported");
+                    return null;
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "1900" (year without month and day)
+                    logger.debug("toType: KNX clock msg ignored: no day and month, but year, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Not supported: No year, no date and no time
+                    logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
+                    return null;
+                }
+
+                Calendar cal = Calendar.getInstance();
+                if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure date format, no time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure time format, no date information
+                    cal.clear();
+                    cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
+                    cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
+                    cal.set(Calendar.SECOND, translatorDateTime.getSecond());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Date format and time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                }
+                break;
+        }
+
+        Class<? extends Type> typeClass = decoder.typeClass;
+        if (typeClass == null) {
+            return null;
+        }
+
+        if (typeClass.equals(PercentType.class)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
+        }
+        if (typeClass.equals(DecimalType.class)) {
+            return new DecimalType(translator.getNumericValue());
+        }
+        if (value == null) {
+            value = translator.getValue();
+        }
+        if (typeClass.equals(StringType.class)) {
+            return StringType.valueOf(value);
+        }
+
+        if (typeClass.equals(DateTimeType.class)) {
+            String date = formatDateTime(value, datapoint.getDPT());
+            if ((date == null) || (date.isEmpty())) {
+                logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
+                return null;
+            } else {
+                return DateTimeType.valueOf(date);
+            }
+        }
+
+        if (typeClass.equals(HSBType.class)) {
+            // value has format of "r:<red value> g:<green value> b:<blue value>"
+            int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
+            int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
+            int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
+
+            return HSBType.fromRGB(r, g, b);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the decoder of the datapoint type of a datapoint, which is created on first use
+     *
+     * @param datapoint the datapoint
+     * @return the decoder or {@code null} if the datapoint type is not supported
+     */
+    private DptDecoder getDecoder(Datapoint datapoint) {
+        return decoders.computeIfAbsent(datapoint.getDPT(), dpt -> Optional.ofNullable(createDecoder(datapoint)))
+                .orElse(null);
+    }
+
+    private DptDecoder createDecoder(Datapoint datapoint) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
-
             String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
-
             int mainNumber = getMainNumber(id);
             if (mainNumber == -1) {
                 logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
@@ -691,173 +888,11 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                 logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
                 return null;
             }
-            /*
-             * Following code section deals with specific mapping of values from KNX to openHAB types were the String
-             * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
-             */
-            switch (mainNumber) {
-                case 1:
-                    DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
-                    switch (subNumber) {
-                        case 8:
-                            return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
-                        case 9:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 10:
-                            return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-                        case 19:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 22:
-                            return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
-                        default:
-                            return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
-                    }
-                case 2:
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case 3:
-                    DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
-                    if (translator3BitControlled.getStepCode() == 0) {
-                        logger.debug("toType: KNX DPT_Control_Dimming: break received.");
-                        return UnDefType.UNDEF;
-                    }
-                    switch (subNumber) {
-                        case 7:
-                            return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
-                                    : IncreaseDecreaseType.DECREASE;
-                        case 8:
-                            return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
-                    }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
-                    break;
-                case 18:
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    value = String.valueOf(decimalValue);
-
-                    break;
-                case 19:
-                    DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
-                    if (translatorDateTime.isFaultyClock()) {
-                        // Not supported: faulty clock
-                        logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "/1/1" (month and day without year)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no year, but day and month, which is not supported");
-                        return null;
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "1900" (year without month and day)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no day and month, but year, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Not supported: No year, no date and no time
-                        logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
-                        return null;
-                    }
-
-                    Calendar cal = Calendar.getInstance();
-                    if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure date format, no time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure time format, no date information
-                        cal.clear();
-                        cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
-                        cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
-                        cal.set(Calendar.SECOND, translatorDateTime.getSecond());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Date format and time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    }
-                    break;
-            }
-
-            Class<? extends Type> typeClass = toTypeClass(id);
-            if (typeClass == null) {
-                return null;
-            }
-
-            if (typeClass.equals(PercentType.class)) {
-                return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
-            }
-            if (typeClass.equals(DecimalType.class)) {
-                return new DecimalType(translator.getNumericValue());
-            }
-            if (typeClass.equals(StringType.class)) {
-                return StringType.valueOf(value);
-            }
-
-            if (typeClass.equals(DateTimeType.class)) {
-                String date = formatDateTime(value, datapoint.getDPT());
-                if ((date == null) || (date.isEmpty())) {
-                    logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
-                    return null;
-                } else {
-                    return DateTimeType.valueOf(date);
-                }
-            }
-
-            if (typeClass.equals(HSBType.class)) {
-                // value has format of "r:<red value> g:<green value> b:<blue value>"
-                int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
-                int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
-                int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
-
-                return HSBType.fromRGB(r, g, b);
-            }
-
-        } catch (KNXFormatException kfe) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
-                    datapoint.getDPT());
-        } catch (KNXIllegalArgumentException kiae) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
-                    datapoint.getDPT());
+            return new DptDecoder(translator, mainNumber, subNumber, toTypeClass(id));
         } catch (KNXException e) {
             logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+            return null;
         }
-
-        return null;
     }
 
     /**
@@ -34,6 +34,7 @@ import org.openhab.binding.knx.internal.channel.KNXChannelTypes;
 import org.openhab.binding.knx.internal.client.AbstractKNXClient;
 import org.openhab.binding.knx.internal.client.InboundSpec;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
+import org.openhab.binding.knx.internal.client.ReadPriority;
 import org.openhab.binding.knx.internal.config.DeviceConfig;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
 import org.openhab.core.config.core.Configuration;
@@ -82,10 +83,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
 
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // the group addresses are registered at the client when attaching to it
         initializeGroupAddresses();
+        super.initialize();
     }
 
     private void initializeGroupAddresses() {
@@ -161,7 +163,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     public void channelLinked(ChannelUID channelUID) {
         if (!isControl(channelUID)) {
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, ReadPriority.STARTUP);
             });
         }
     }
@@ -172,48 +174,54 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         for (Channel channel : getThing().getChannels()) {
             if (isLinked(channel.getUID().getId()) && !isControl(channel.getUID())) {
                 withKNXType(channel, (selector, configuration) -> {
-                    scheduleRead(selector, configuration);
+                    scheduleRead(selector, configuration, ReadPriority.STARTUP);
                 });
             }
         }
     }
 
-    private void scheduleRead(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+    private void scheduleRead(KNXChannelType selector, Configuration configuration, ReadPriority priority)
+            throws KNXFormatException {
         List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
         for (InboundSpec readSpec : readSpecs) {
             for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
-                scheduleReadJob(groupAddress, readSpec.getDPT());
+                scheduleReadJob(groupAddress, readSpec.getDPT(), priority);
             }
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
+    private void scheduleReadJob(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                // the first read has the priority of its trigger, the following ones are periodic
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
+                future = getScheduler().scheduleWithFixedDelay(
+                        () -> readDatapoint(groupAddress, dpt, ReadPriority.PERIODIC), readInterval, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
+            } else if (priority == ReadPriority.REFRESH) {
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
     @Override
-    public boolean listensTo(GroupAddress destination) {
-        return groupAddresses.contains(destination);
+    public Set<GroupAddress> getGroupAddresses() {
+        return Set.copyOf(groupAddresses);
     }
 
     /** KNXIO remember controls, removeIf may be null */
@@ -235,7 +243,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, ReadPriority.REFRESH);
             });
         } else {
             switch (channelUID.getId()) {
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -28,9 +30,10 @@ import tuwien.auto.calimero.GroupAddress;
 public interface GroupAddressListener extends BusMessageListener {
 
     /**
-     * Called to verify if the GroupAddressListener has an interest in the given GroupAddress
+     * Called on registration to get the GroupAddresses the GroupAddressListener has an interest in. The listener has
+     * to register again when they change.
      *
-     * @param destination
+     * @return the group addresses
      */
-    public boolean listensTo(GroupAddress destination);
+    public Set<GroupAddress> getGroupAddresses();
 }
@@ -12,15 +12,21 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.KNXBindingConstants;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.ThingStatus;
@@ -72,4 +78,11 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
     public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, @Nullable String description) {
         super.updateStatus(status, statusDetail, description);
     }
+
+    @Override
+    public void updateReadStatistics(int queuedReads, Duration readLatency) {
+        updateState(KNXBindingConstants.CHANNEL_READ_QUEUE_SIZE, new DecimalType(queuedReads));
+        updateState(KNXBindingConstants.CHANNEL_READ_LATENCY,
+                new QuantityType<>(BigDecimal.valueOf(readLatency.toMillis(), 3), Units.SECOND));
+    }
 }
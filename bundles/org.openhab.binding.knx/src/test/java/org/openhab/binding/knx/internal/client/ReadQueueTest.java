@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * Tests the {@link ReadQueue}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ReadQueueTest {
+
+    private ReadDatapoint read(int middle, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, middle, 1), "test", 0, "1.001"), 3, priority);
+    }
+
+    private GroupAddress pollAddress(ReadQueue queue) {
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testPoll_byPriorityAndOrder() {
+        ReadQueue queue = new ReadQueue();
+        queue.add(read(1, ReadPriority.STARTUP));
+        queue.add(read(2, ReadPriority.PERIODIC));
+        queue.add(read(3, ReadPriority.STARTUP));
+        queue.add(read(4, ReadPriority.REFRESH));
+
+        assertEquals(new GroupAddress(1, 4, 1), pollAddress(queue));
+        assertEquals(new GroupAddress(1, 2, 1), pollAddress(queue));
+        assertEquals(new GroupAddress(1, 1, 1), pollAddress(queue));
+        assertEquals(new GroupAddress(1, 3, 1), pollAddress(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testAdd_mergesPendingReads() {
+        ReadQueue queue = new ReadQueue();
+        assertTrue(queue.add(read(1, ReadPriority.STARTUP)));
+        assertTrue(queue.add(read(2, ReadPriority.PERIODIC)));
+        assertFalse(queue.add(read(1, ReadPriority.STARTUP)));
+        assertEquals(2, queue.size());
+
+        // a refresh moves the pending read up
+        assertFalse(queue.add(read(1, ReadPriority.REFRESH)));
+        assertEquals(2, queue.size());
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        assertEquals(new GroupAddress(1, 1, 1), datapoint.getDatapoint().getMainAddress());
+        assertEquals(ReadPriority.REFRESH, datapoint.getPriority());
+
+        // a lower priority keeps the pending one
+        assertFalse(queue.add(read(2, ReadPriority.STARTUP)));
+        datapoint = queue.poll();
+        assertNotNull(datapoint);
+        assertEquals(ReadPriority.PERIODIC, datapoint.getPriority());
+
+        // the group address can be queued again once it has been taken
+        assertTrue(queue.add(read(1, ReadPriority.STARTUP)));
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+    }
+}
@@ -16,6 +16,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
 
 /**
  *
@@ -29,4 +35,27 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_reusedTranslators() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+
+        assertEquals(OnOffType.ON, mapper.toType(datapoint("1.001"), new byte[] { 1 }));
+        assertEquals(OnOffType.OFF, mapper.toType(datapoint("1.001"), new byte[] { 0 }));
+        assertEquals(PercentType.HUNDRED, mapper.toType(datapoint("5.001"), new byte[] { (byte) 0xFF }));
+        assertEquals(PercentType.ZERO, mapper.toType(datapoint("5.001"), new byte[] { 0 }));
+        assertDecimal(21.0, mapper.toType(datapoint("9.001"), new byte[] { 0x0C, 0x1A }));
+        assertDecimal(0.0, mapper.toType(datapoint("9.001"), new byte[] { 0x00, 0x00 }));
+        assertDecimal(1.5, mapper.toType(datapoint("14.019"), new byte[] { 0x3F, (byte) 0xC0, 0x00, 0x00 }));
+        assertDecimal(-2.0, mapper.toType(datapoint("14.019"), new byte[] { (byte) 0xC0, 0x00, 0x00, 0x00 }));
+    }
+
+    private static CommandDP datapoint(String dpt) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+    }
+
+    private static void assertDecimal(double expected, Type type) {
+        assertTrue(type instanceof DecimalType);
+        assertEquals(expected, ((DecimalType) type).doubleValue(), 0.0001);
+    }
 }
@@ -32,6 +32,7 @@ import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.PublishQueue;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.thing.Bridge;
@@ -73,6 +74,10 @@ import org.slf4j.LoggerFactory;
  * While setting up your {@link ChannelState} you would set the callback to your thing handler,
  * because this base class implements {@link ChannelStateUpdateListener}.
  *
+ * <p>
+ * Channel states using the {@link #topicDispatcher} share one subscription per topic, the payload of a message is
+ * then decoded once for all of them.
+ *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
@@ -83,6 +88,10 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private final int subscribeTimeout;
 
     protected @Nullable MqttBrokerConnection connection;
+    // Publish queue of the bridge, which limits the messages in flight on the connection
+    protected @Nullable PublishQueue publishQueue;
+    // Subscribes once per topic for the channel states sharing a state topic
+    protected final TopicDispatcher topicDispatcher = new TopicDispatcher();
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
@@ -146,7 +155,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
 
-        final CompletableFuture<Boolean> future = data.publishValue(command);
+        final CompletableFuture<Boolean> future = data.publishValue(command, publishQueue);
         future.handle((v, ex) -> {
             if (ex != null) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, ex.getLocalizedMessage());
@@ -165,6 +174,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.BRIDGE_OFFLINE);
             stop();
             connection = null;
+            publishQueue = null;
             return;
         }
         if (bridgeStatusInfo.getStatus() != ThingStatus.ONLINE) {
@@ -190,6 +200,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
         this.connection = connection;
+        this.publishQueue = h.getPublishQueue();
 
         // Start up (subscribe to MQTT topics). Limit with a timeout and catch exceptions.
         // We do not set the thing to ONLINE here in the AbstractBase, that is the responsibility of a derived
@@ -257,6 +268,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             logger.warn("unsubscription on disposal failed for {}: ", thing.getUID(), e);
         }
         connection = null;
+        publishQueue = null;
         super.dispose();
     }
 
@@ -25,6 +25,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.PublishQueue;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.StringType;
@@ -57,6 +58,7 @@ public class ChannelState implements MqttMessageSubscriber {
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
+    private @Nullable TopicDispatcher topicDispatcher;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
@@ -139,6 +141,18 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        processMessage(topic, payload, null);
+    }
+
+    /**
+     * Incoming message from the {@link TopicDispatcher}, which decodes the payload once for all channel states of
+     * the topic.
+     *
+     * @param topic The topic. Is the same as the field stateTopic.
+     * @param payload The byte payload. Must be UTF8 encoded text or binary data.
+     * @param value The payload decoded as UTF8 text. Null if it has not been decoded yet.
+     */
+    void processMessage(String topic, byte[] payload, @Nullable String value) {
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -153,7 +167,7 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = value != null ? value : new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
             String transformedValue = t.processValue(strValue);
             if (transformedValue != null) {
@@ -242,7 +256,11 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && !config.stateTopic.isBlank()) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            final TopicDispatcher topicDispatcher = this.topicDispatcher;
+            CompletableFuture<Boolean> unsubscribed = topicDispatcher != null
+                    ? topicDispatcher.unsubscribe(connection, config.stateTopic, this)
+                    : connection.unsubscribe(config.stateTopic, this);
+            return unsubscribed.thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -302,7 +320,11 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.future = new CompletableFuture<>();
         }
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        final TopicDispatcher topicDispatcher = this.topicDispatcher;
+        CompletableFuture<Boolean> subscribed = topicDispatcher != null
+                ? topicDispatcher.subscribe(connection, config.stateTopic, this)
+                : connection.subscribe(config.stateTopic, this);
+        subscribed.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -331,6 +353,19 @@ public class ChannelState implements MqttMessageSubscriber {
      *         and exceptionally otherwise.
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
+        return publishValue(command, null);
+    }
+
+    /**
+     * Publishes a value on MQTT through the publish queue of the broker. A command topic needs to be set in the
+     * configuration.
+     *
+     * @param command The command to send
+     * @param publishQueue The publish queue of the connection, null to publish directly on the connection
+     * @return A future that completes with true if the publishing worked and false if it is a readonly topic
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> publishValue(Command command, @Nullable PublishQueue publishQueue) {
         cachedValue.update(command);
 
         Value mqttCommandValue = cachedValue;
@@ -382,6 +417,9 @@ public class ChannelState implements MqttMessageSubscriber {
 
         int qos = (config.qos != null) ? config.qos : connection.getQos();
 
+        if (publishQueue != null && publishQueue.getConnection() == connection) {
+            return publishQueue.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
+        }
         return connection.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
     }
 
@@ -399,6 +437,16 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = channelStateUpdateListener;
     }
 
+    /**
+     * Lets the channel state subscribe through a {@link TopicDispatcher} shared with the other channel states of the
+     * thing instead of directly on the connection. Must be set before {@link #start}.
+     *
+     * @param topicDispatcher The topic dispatcher, null to subscribe directly
+     */
+    public void setTopicDispatcher(@Nullable TopicDispatcher topicDispatcher) {
+        this.topicDispatcher = topicDispatcher;
+    }
+
     public @Nullable MqttBrokerConnection getConnection() {
         return connection;
     }
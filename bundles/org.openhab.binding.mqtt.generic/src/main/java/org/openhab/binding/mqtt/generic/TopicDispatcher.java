@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Subscribes once per state topic for all {@link ChannelState}s of a thing sharing that topic.
+ *
+ * The payload of a message is decoded once and all channel states of the topic get the same string. Their incoming
+ * transformations therefore see one input per message, which lets the JSONPATH transformation parse a JSON payload
+ * once for all channels extracting a field of it.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TopicDispatcher {
+
+    // guarded by this
+    private final Map<String, TopicSubscriber> subscribers = new HashMap<>();
+
+    private static class TopicSubscriber implements MqttMessageSubscriber {
+        private final MqttBrokerConnection connection;
+        private final List<ChannelState> channelStates = new CopyOnWriteArrayList<>();
+        private CompletableFuture<Boolean> subscribed = CompletableFuture.completedFuture(true);
+
+        private TopicSubscriber(MqttBrokerConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            String value = null;
+            for (ChannelState channelState : channelStates) {
+                if (value == null && !channelState.getCache().isBinary()) {
+                    value = new String(payload, StandardCharsets.UTF_8);
+                }
+                channelState.processMessage(topic, payload, value);
+            }
+        }
+    }
+
+    /**
+     * Subscribes a channel state to a topic. Only the first channel state of a topic subscribes on the connection.
+     *
+     * @param connection A broker connection
+     * @param topic The state topic
+     * @param channelState The channel state to add
+     * @return A future that completes with true if subscribing on the connection worked and exceptionally otherwise.
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscriber subscriber = subscribers.get(topic);
+        if (subscriber == null || subscriber.connection != connection) {
+            if (subscriber != null) {
+                // the thing has been started on a new connection
+                subscriber.connection.unsubscribe(topic, subscriber);
+            }
+            subscriber = new TopicSubscriber(connection);
+            subscribers.put(topic, subscriber);
+        }
+        if (!subscriber.channelStates.contains(channelState)) {
+            subscriber.channelStates.add(channelState);
+        }
+        if (subscriber.channelStates.size() == 1 || subscriber.subscribed.isCompletedExceptionally()) {
+            subscriber.subscribed = connection.subscribe(topic, subscriber);
+        }
+        return subscriber.subscribed;
+    }
+
+    /**
+     * Unsubscribes a channel state from a topic. The last channel state of a topic unsubscribes on the connection.
+     *
+     * @param connection A broker connection
+     * @param topic The state topic
+     * @param channelState The channel state to remove
+     * @return A future that completes with true if unsubscribing on the connection worked or was not necessary and
+     *         exceptionally otherwise.
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscriber subscriber = subscribers.get(topic);
+        if (subscriber == null || subscriber.connection != connection
+                || !subscriber.channelStates.remove(channelState)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!subscriber.channelStates.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscribers.remove(topic);
+        return connection.unsubscribe(topic, subscriber);
+    }
+}
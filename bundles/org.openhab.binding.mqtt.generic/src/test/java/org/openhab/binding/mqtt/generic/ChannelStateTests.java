@@ -35,6 +35,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -49,6 +50,7 @@ import org.openhab.binding.mqtt.generic.values.NumberValue;
 import org.openhab.binding.mqtt.generic.values.PercentageValue;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.RawType;
 import org.openhab.core.library.types.StringType;
@@ -322,4 +324,29 @@ public class ChannelStateTests {
         assertThat(value.getChannelState(), is(instanceOf(RawType.class)));
         assertThat(((RawType) value.getChannelState()).getMimeType(), is("image/jpeg"));
     }
+
+    @Test
+    public void receiveWithTopicDispatcherTest() throws InterruptedException, ExecutionException, TimeoutException {
+        TopicDispatcher topicDispatcher = new TopicDispatcher();
+        TextValue otherValue = new TextValue();
+        ChannelState c1 = new ChannelState(config, channelUID, textValue, channelStateUpdateListener);
+        ChannelState c2 = new ChannelState(config, channelUID, otherValue, channelStateUpdateListener);
+        c1.setTopicDispatcher(topicDispatcher);
+        c2.setTopicDispatcher(topicDispatcher);
+        c1.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+        c2.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        ArgumentCaptor<MqttMessageSubscriber> subscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection, times(1)).subscribe(eq("state"), subscriber.capture());
+
+        subscriber.getValue().processMessage("state", "A TEST".getBytes());
+        assertThat(textValue.getChannelState().toString(), is("A TEST"));
+        assertThat(otherValue.getChannelState().toString(), is("A TEST"));
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+
+        c1.stop().get();
+        verify(connection, never()).unsubscribe(any(), any());
+        c2.stop().get();
+        verify(connection).unsubscribe(eq("state"), eq(subscriber.getValue()));
+    }
 }
@@ -14,11 +14,14 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -59,6 +62,10 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private int discoverTime;
     private Set<String> topics = new HashSet<>();
 
+    // hash codes of the configurations handed to the listener, unchanged configurations are not parsed again
+    private final Map<HaID, Integer> configHashes = new ConcurrentHashMap<>();
+    private final AtomicLong skippedConfigs = new AtomicLong();
+
     /**
      * Implement this to get notified of new components
      */
@@ -93,6 +100,16 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         HaID haID = new HaID(topic);
         String config = new String(payload);
 
+        if (config.isEmpty()) {
+            configHashes.remove(haID);
+        } else if (Integer.valueOf(config.hashCode()).equals(configHashes.put(haID, config.hashCode()))) {
+            // retained configurations are received again on every reconnect
+            skippedConfigs.incrementAndGet();
+            logger.trace("Configuration of HomeAssistant thing {} component {} unchanged", haID.objectID,
+                    haID.component);
+            return;
+        }
+
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
@@ -111,6 +128,33 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
     }
 
+    /**
+     * Marks the configuration of a known component as received, so it is skipped while it is unchanged.
+     *
+     * @param haID The HomeAssistant topic ID of the component
+     * @param configHash The hash code of the configuration of the component
+     */
+    public void setKnownConfig(HaID haID, int configHash) {
+        configHashes.put(haID, configHash);
+    }
+
+    /**
+     * Lets the configuration of a component be processed the next time it is received, e.g. because the discovered
+     * component has not been applied.
+     *
+     * @param haID The HomeAssistant topic ID of the component
+     */
+    public void forgetConfig(HaID haID) {
+        configHashes.remove(haID);
+    }
+
+    /**
+     * Returns the number of received configurations which have been skipped because they were unchanged.
+     */
+    public long getSkippedConfigCount() {
+        return skippedConfigs.get();
+    }
+
     /**
      * Start a components discovery.
      *
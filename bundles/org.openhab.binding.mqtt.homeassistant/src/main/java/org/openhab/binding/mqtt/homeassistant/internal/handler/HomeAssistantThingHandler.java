@@ -12,14 +12,15 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal.handler;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -52,7 +53,6 @@ import org.openhab.core.thing.type.ChannelDefinition;
 import org.openhab.core.thing.type.ChannelGroupDefinition;
 import org.openhab.core.thing.type.ChannelGroupType;
 import org.openhab.core.thing.type.ThingType;
-import org.openhab.core.thing.util.ThingHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,6 +97,9 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
 
     private boolean started;
 
+    private final AtomicLong skippedConfigs = new AtomicLong();
+    private final AtomicLong appliedConfigs = new AtomicLong();
+
     /**
      * Create a new thing handler for HomeAssistant MQTT components.
      * A channel type provider and a topic value receive timeout must be provided.
@@ -160,6 +163,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             if (component != null) {
                 haComponents.put(component.uid().getId(), component);
                 component.addChannelTypes(channelTypeProvider);
+                discoverComponents.setKnownConfig(component.getHaID(), component.getConfigHash());
             } else {
                 logger.warn("Could not restore component {}", thing);
             }
@@ -210,7 +214,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     protected void stop() {
         if (started) {
             discoverComponents.stopDiscovery();
-            delayedProcessing.join();
+            // the pending components are discovered again after a restart
+            delayedProcessing.join().forEach(c -> discoverComponents.forgetConfig(c.getHaID()));
             // haComponents does not need to be synchronised -> the discovery thread is disabled
             haComponents.values().parallelStream().map(AbstractComponent::stop) //
                     // we need to join all the stops, otherwise they might not be done when start is called
@@ -252,16 +257,21 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
 
     /**
      * Callback of {@link DelayedBatchProcessing}.
-     * Add all newly discovered components to the Thing and start the components.
+     * Add all newly discovered components to the Thing and start the components. The Thing is updated once for all
+     * components of the batch.
      */
     @SuppressWarnings("null")
     @Override
     public void accept(List<AbstractComponent<?>> discoveredComponentsList) {
         MqttBrokerConnection connection = this.connection;
         if (connection == null) {
+            // the components are discovered again after the reconnect
+            discoveredComponentsList.forEach(c -> discoverComponents.forgetConfig(c.getHaID()));
             return;
         }
 
+        // channels of the added or replaced components by group ID
+        Map<String, List<Channel>> changedChannels = new LinkedHashMap<>();
         synchronized (haComponents) { // sync whenever discoverComponents is started
             for (AbstractComponent<?> discovered : discoveredComponentsList) {
                 AbstractComponent<?> known = haComponents.get(discovered.uid().getId());
@@ -273,6 +283,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                         known.stop();
                     } else {
                         known.setConfigSeen();
+                        skippedConfigs.incrementAndGet();
                         continue;
                     }
                 }
@@ -287,13 +298,37 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     return null;
                 });
 
-                Collection<Channel> channels = discovered.channelTypes().values().stream().map(CChannel::getChannel)
-                        .collect(Collectors.toList());
-                ThingHelper.addChannelsToThing(thing, channels);
+                changedChannels.put(discovered.uid().getId(), discovered.channelTypes().values().stream()
+                        .map(CChannel::getChannel).collect(Collectors.toList()));
             }
         }
+        if (changedChannels.isEmpty()) {
+            return;
+        }
+        appliedConfigs.addAndGet(changedChannels.size());
 
+        List<Channel> channels = thing.getChannels().stream()
+                .filter(c -> !changedChannels.containsKey(c.getUID().getGroupId())).collect(Collectors.toList());
+        changedChannels.values().forEach(channels::addAll);
+        updateThing(editThing().withChannels(channels).build());
         updateThingType();
+
+        logger.debug("Applied {} discovered components to {}, {} configurations applied and {} skipped so far",
+                changedChannels.size(), thing.getUID(), getAppliedConfigCount(), getSkippedConfigCount());
+    }
+
+    /**
+     * Returns the number of discovered component configurations which have been added to the Thing.
+     */
+    public long getAppliedConfigCount() {
+        return appliedConfigs.get();
+    }
+
+    /**
+     * Returns the number of received component configurations which have been skipped because they were unchanged.
+     */
+    public long getSkippedConfigCount() {
+        return skippedConfigs.get() + discoverComponents.getSkippedConfigCount();
     }
 
     @Override
@@ -30,4 +30,6 @@ public class MqttBindingConstants {
     public static final ThingTypeUID BRIDGE_TYPE_BROKER = new ThingTypeUID(BINDING_ID, "broker");
 
     public static final String PUBLISH_TRIGGER_CHANNEL = "publishTrigger";
+    public static final String PUBLISH_QUEUE_SIZE_CHANNEL = "publishQueueSize";
+    public static final String PUBLISH_LATENCY_CHANNEL = "publishLatency";
 }
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.discovery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Maps MQTT topic filters, which may contain the wildcards '+' and '#', to values and finds the values of all filters
+ * matching a topic.
+ *
+ * The filters are stored in a tree with one level of the topic per node, so finding the matches of a topic costs in
+ * the order of the topic depth, independent of the number of filters. This class is thread safe.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ *
+ * @param <T> The type of the values
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+    private static final String SEPARATOR = "/";
+    private static final String SINGLE_LEVEL = "+";
+    private static final String MULTI_LEVEL = "#";
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        // values of the filters ending at this node
+        private final List<T> values = new ArrayList<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    // guarded by this
+    private final Node<T> root = new Node<>();
+    private int size = 0;
+
+    /**
+     * Adds a value for a topic filter. A value may be added several times, also for the same filter.
+     *
+     * @param filter The topic filter
+     * @param value The value
+     */
+    public synchronized void add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split(SEPARATOR, -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * Removes a value of a topic filter once.
+     *
+     * @param filter The topic filter
+     * @param value The value
+     * @return true if the value had been added for the filter
+     */
+    public synchronized boolean remove(String filter, T value) {
+        return remove(root, filter.split(SEPARATOR, -1), 0, value);
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            if (!node.values.remove(value)) {
+                return false;
+            }
+            size--;
+            return true;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the values of all filters matching a topic. A value is returned once for every filter it has been added
+     * for.
+     *
+     * @param topic The topic of a message, without wildcards
+     * @return The values, in no particular order
+     */
+    public synchronized List<T> match(String topic) {
+        List<T> result = new ArrayList<>();
+        match(root, topic.split(SEPARATOR, -1), 0, result);
+        return result;
+    }
+
+    private void match(Node<T> node, String[] levels, int index, List<T> result) {
+        // '#' also matches the parent level itself, "a/#" matches "a"
+        Node<T> multiLevel = node.children.get(MULTI_LEVEL);
+        if (multiLevel != null) {
+            result.addAll(multiLevel.values);
+        }
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child != null) {
+            match(child, levels, index + 1, result);
+        }
+        Node<T> singleLevel = node.children.get(SINGLE_LEVEL);
+        if (singleLevel != null) {
+            match(singleLevel, levels, index + 1, result);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether every topic matching a filter also matches another filter.
+     *
+     * @param filter The possibly wider topic filter
+     * @param other The other topic filter
+     * @return true if 'filter' matches all topics 'other' matches
+     */
+    public static boolean covers(String filter, String other) {
+        String[] levels = filter.split(SEPARATOR, -1);
+        String[] otherLevels = other.split(SEPARATOR, -1);
+        for (int i = 0; i < levels.length; i++) {
+            if (MULTI_LEVEL.equals(levels[i])) {
+                return true;
+            }
+            if (i >= otherLevels.length || MULTI_LEVEL.equals(otherLevels[i])) {
+                return false;
+            }
+            if (!SINGLE_LEVEL.equals(levels[i]) && !levels[i].equals(otherLevels[i])) {
+                return false;
+            }
+        }
+        return levels.length == otherLevels.length;
+    }
+}
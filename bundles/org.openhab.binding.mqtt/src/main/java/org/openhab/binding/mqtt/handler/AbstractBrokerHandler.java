@@ -15,22 +15,34 @@ package org.openhab.binding.mqtt.handler;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.MqttBindingConstants;
 import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryParticipant;
-import org.openhab.binding.mqtt.discovery.TopicSubscribe;
+import org.openhab.binding.mqtt.discovery.TopicTrie;
 import org.openhab.binding.mqtt.internal.action.MQTTActions;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttConnectionObserver;
 import org.openhab.core.io.transport.mqtt.MqttConnectionState;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.io.transport.mqtt.MqttService;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.MetricPrefix;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.*;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
+import org.openhab.core.thing.type.ChannelTypeUID;
 import org.openhab.core.types.Command;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,18 +52,27 @@ import org.slf4j.LoggerFactory;
  * and puts the Thing on or offline. It also handles adding/removing notifications of the
  * {@link MqttService} and provides a basic dispose() implementation.
  *
+ * Messages are published through a {@link PublishQueue} of the connection, which limits the messages in flight. Its
+ * queue size and latency are reported on the metric channels of the broker Thing.
+ *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
 public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements MqttConnectionObserver {
     public static final int TIMEOUT_DEFAULT = 1200; /* timeout in milliseconds */
+    private static final int METRICS_INTERVAL = 10; /* interval of the metric channel updates in seconds */
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
-    private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
+    // discovery participants by topic filter, guarded by itself
+    private final Map<String, Set<MQTTTopicDiscoveryParticipant>> discoveryTopics = new HashMap<>();
+    // subscriptions on the connection by topic filter, guarded by discoveryTopics
+    private final Map<String, DiscoverySubscriber> discoverySubscribers = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
+    protected @Nullable PublishQueue publishQueue;
+    private @Nullable ScheduledFuture<?> metricsJob;
 
     public AbstractBrokerHandler(Bridge thing) {
         super(thing);
@@ -77,6 +98,21 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the {@link PublishQueue} of the underlying {@link MqttBrokerConnection}, null before
+     * {@link #initialize()} has performed.
+     */
+    public @Nullable PublishQueue getPublishQueue() {
+        return publishQueue;
+    }
+
+    /**
+     * Returns the maximum number of messages in flight of the {@link PublishQueue}.
+     */
+    protected int getMaxInFlight() {
+        return PublishQueue.DEFAULT_MAX_IN_FLIGHT;
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -96,12 +132,27 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             return;
         }
         for (Channel channel : thing.getChannels()) {
+            // the metric channels are updated by the handler
+            final ChannelTypeUID typeUID = channel.getChannelTypeUID();
+            if (typeUID != null && !MqttBindingConstants.PUBLISH_TRIGGER_CHANNEL.equals(typeUID.getId())) {
+                continue;
+            }
             final PublishTriggerChannelConfig channelConfig = channel.getConfiguration()
                     .as(PublishTriggerChannelConfig.class);
             PublishTriggerChannel c = new PublishTriggerChannel(channelConfig, channel.getUID(), connection, this);
             channelStateByChannelUID.put(channel.getUID(), c);
         }
 
+        final PublishQueue publishQueue = this.publishQueue;
+        if (publishQueue != null) {
+            publishQueue.stop();
+        }
+        this.publishQueue = new PublishQueue(connection, getMaxInFlight());
+        if (metricsJob == null) {
+            metricsJob = scheduler.scheduleWithFixedDelay(this::updateMetrics, METRICS_INTERVAL, METRICS_INTERVAL,
+                    TimeUnit.SECONDS);
+        }
+
         connection.addConnectionObserver(this);
 
         connection.start().exceptionally(e -> {
@@ -116,28 +167,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         });
         connectionFuture.complete(connection);
 
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
-                if (oldTopicSubscribe.isStarted()) {
-                    oldTopicSubscribe.stop();
-                }
-
-                TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-                if (discoveryEnabled()) {
-                    topicSubscribe.start().handle((result, ex) -> {
-                        if (ex != null) {
-                            logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        } else {
-                            logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
-                }
-                return topicSubscribe;
-            });
-        });
+        updateDiscoverySubscriptions();
     }
 
     @Override
@@ -155,6 +185,22 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         }
     }
 
+    private void updateMetrics() {
+        final PublishQueue publishQueue = this.publishQueue;
+        if (publishQueue == null) {
+            return;
+        }
+        ChannelUID queueSizeUID = new ChannelUID(thing.getUID(), MqttBindingConstants.PUBLISH_QUEUE_SIZE_CHANNEL);
+        if (isLinked(queueSizeUID)) {
+            updateState(queueSizeUID, new DecimalType(publishQueue.getQueueSize()));
+        }
+        ChannelUID latencyUID = new ChannelUID(thing.getUID(), MqttBindingConstants.PUBLISH_LATENCY_CHANNEL);
+        Long latency = publishQueue.pollAverageLatency();
+        if (latency != null && isLinked(latencyUID)) {
+            updateState(latencyUID, new QuantityType<>(latency, MetricPrefix.MILLI(Units.SECOND)));
+        }
+    }
+
     @Override
     protected void triggerChannel(ChannelUID channelUID, String event) {
         super.triggerChannel(channelUID, event);
@@ -168,12 +214,22 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         channelStateByChannelUID.values().forEach(PublishTriggerChannel::stop);
         channelStateByChannelUID.clear();
 
+        final ScheduledFuture<?> metricsJob = this.metricsJob;
+        if (metricsJob != null) {
+            metricsJob.cancel(false);
+            this.metricsJob = null;
+        }
+        final PublishQueue publishQueue = this.publishQueue;
+        if (publishQueue != null) {
+            publishQueue.stop();
+            this.publishQueue = null;
+        }
+
         // keep topics, but stop subscriptions
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.forEach((listener, topicSubscribe) -> {
-                topicSubscribe.stop();
-            });
-        });
+        synchronized (discoveryTopics) {
+            discoverySubscribers.values().forEach(DiscoverySubscriber::stop);
+            discoverySubscribers.clear();
+        }
 
         if (connection != null) {
             connection.removeConnectionObserver(this);
@@ -193,30 +249,18 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @param topic the topic (wildcards supported)
      */
     public final void registerDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics
-                .computeIfAbsent(topic, t -> new HashMap<>());
-        topicListeners.compute(listener, (k, v) -> {
-            if (v != null) {
+        synchronized (discoveryTopics) {
+            if (!discoveryTopics.computeIfAbsent(topic, t -> new HashSet<>()).add(listener)) {
                 logger.warn("Duplicate subscription for {} to discovery topic {} on broker {}. Check discovery logic!",
                         listener, topic, thing.getUID());
-                v.stop();
-            }
-
-            TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-            if (discoveryEnabled()) {
-                topicSubscribe.start().handle((result, ex) -> {
-                    if (ex != null) {
-                        logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    } else {
-                        logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    }
-                    return null;
-                });
+                // subscribe again to receive the retained messages once more
+                DiscoverySubscriber subscriber = discoverySubscribers.remove(findCoveringTopic(topic));
+                if (subscriber != null) {
+                    subscriber.stop();
+                }
             }
-            return topicSubscribe;
-        });
+            updateDiscoverySubscriptions();
+        }
     }
 
     /**
@@ -226,28 +270,140 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @param topic the topic (as specified during registration)
      */
     public final void unregisterDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics.compute(topic,
-                (k, v) -> {
-                    if (v == null) {
-                        logger.warn(
-                                "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered at all. Check discovery logic!",
-                                listener, topic, thing.getUID());
-                        return null;
-                    }
-                    v.compute(listener, (l, w) -> {
-                        if (w == null) {
-                            logger.warn(
-                                    "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
-                                    listener, topic, thing.getUID());
-                        } else {
-                            w.stop();
-                            logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
-                    return v.isEmpty() ? null : v;
-                });
+        synchronized (discoveryTopics) {
+            Set<MQTTTopicDiscoveryParticipant> listeners = discoveryTopics.get(topic);
+            if (listeners == null) {
+                logger.warn(
+                        "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered at all. Check discovery logic!",
+                        listener, topic, thing.getUID());
+                return;
+            }
+            if (!listeners.remove(listener)) {
+                logger.warn(
+                        "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
+                        listener, topic, thing.getUID());
+                return;
+            }
+            if (listeners.isEmpty()) {
+                discoveryTopics.remove(topic);
+            }
+            logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic, thing.getUID());
+            updateDiscoverySubscriptions();
+        }
+    }
+
+    /**
+     * Subscribes each discovery topic which is not covered by a wider discovery topic on the connection. The messages
+     * of such a subscription are routed to the listeners of all topics it covers with a {@link TopicTrie}.
+     *
+     * A subscription is renewed if a listener has been added to it, so the new listener receives the retained
+     * messages as well.
+     */
+    private void updateDiscoverySubscriptions() {
+        synchronized (discoveryTopics) {
+            final MqttBrokerConnection connection = this.connection;
+            Map<String, Map<String, Set<MQTTTopicDiscoveryParticipant>>> routes = new HashMap<>();
+            if (connection != null && discoveryEnabled()) {
+                discoveryTopics.forEach((topic, listeners) -> routes
+                        .computeIfAbsent(findCoveringTopic(topic), t -> new HashMap<>())
+                        .put(topic, Set.copyOf(listeners)));
+            }
+
+            Iterator<DiscoverySubscriber> iterator = discoverySubscribers.values().iterator();
+            while (iterator.hasNext()) {
+                DiscoverySubscriber subscriber = iterator.next();
+                Map<String, Set<MQTTTopicDiscoveryParticipant>> topicRoutes = routes.get(subscriber.subscribedTopic);
+                if (topicRoutes != null && subscriber.connection == connection && subscriber.routesTo(topicRoutes)) {
+                    subscriber.setRoutes(topicRoutes);
+                } else {
+                    subscriber.stop();
+                    iterator.remove();
+                }
+            }
+
+            routes.forEach((topic, topicRoutes) -> {
+                if (connection != null && !discoverySubscribers.containsKey(topic)) {
+                    DiscoverySubscriber subscriber = new DiscoverySubscriber(connection, topic);
+                    subscriber.setRoutes(topicRoutes);
+                    discoverySubscribers.put(topic, subscriber);
+                    subscriber.start();
+                }
+            });
+        }
+    }
+
+    /**
+     * Finds the discovery topic to subscribe for a discovery topic, which is either a registered discovery topic
+     * covering it or the topic itself
+     */
+    private String findCoveringTopic(String topic) {
+        String covering = topic;
+        for (String other : discoveryTopics.keySet()) {
+            if (TopicTrie.covers(other, covering) && !TopicTrie.covers(covering, other)) {
+                covering = other;
+            }
+        }
+        return covering;
+    }
+
+    /**
+     * Subscription of a discovery topic, which routes the messages to the listeners of the topic and of all discovery
+     * topics covered by it
+     */
+    private class DiscoverySubscriber implements MqttMessageSubscriber {
+        private final MqttBrokerConnection connection;
+        private final String subscribedTopic;
+        private volatile Map<String, Set<MQTTTopicDiscoveryParticipant>> routes = Map.of();
+        private volatile TopicTrie<MQTTTopicDiscoveryParticipant> listeners = new TopicTrie<>();
+
+        private DiscoverySubscriber(MqttBrokerConnection connection, String subscribedTopic) {
+            this.connection = connection;
+            this.subscribedTopic = subscribedTopic;
+        }
+
+        private void setRoutes(Map<String, Set<MQTTTopicDiscoveryParticipant>> routes) {
+            TopicTrie<MQTTTopicDiscoveryParticipant> listeners = new TopicTrie<>();
+            routes.forEach((filter, filterListeners) -> filterListeners.forEach(l -> listeners.add(filter, l)));
+            this.routes = routes;
+            this.listeners = listeners;
+        }
+
+        /**
+         * @return true if all listeners of the given routes are already routed to
+         */
+        private boolean routesTo(Map<String, Set<MQTTTopicDiscoveryParticipant>> otherRoutes) {
+            final Map<String, Set<MQTTTopicDiscoveryParticipant>> routes = this.routes;
+            return otherRoutes.entrySet().stream()
+                    .allMatch(e -> routes.getOrDefault(e.getKey(), Set.of()).containsAll(e.getValue()));
+        }
+
+        private void start() {
+            connection.subscribe(subscribedTopic, this).handle((result, ex) -> {
+                if (ex != null) {
+                    logger.warn("Failed to subscribe to discovery topic {} on broker {}", subscribedTopic,
+                            thing.getUID());
+                } else {
+                    logger.trace("Subscribed {} to discovery topic {} on broker {}", routes.keySet(), subscribedTopic,
+                            thing.getUID());
+                }
+                return null;
+            });
+        }
+
+        private void stop() {
+            connection.unsubscribe(subscribedTopic, this);
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            for (MQTTTopicDiscoveryParticipant listener : listeners.match(topic)) {
+                if (payload.length > 0) {
+                    listener.receivedMessage(thing.getUID(), connection, topic, payload);
+                } else {
+                    listener.topicVanished(thing.getUID(), connection, topic);
+                }
+            }
+        }
     }
 
     /**
@@ -129,6 +129,11 @@ public class BrokerHandler extends AbstractBrokerHandler implements PinnedCallba
         return config.enableDiscovery;
     }
 
+    @Override
+    protected int getMaxInFlight() {
+        return config.maxInFlight;
+    }
+
     /**
      * Reads the thing configuration related to public key or certificate pinning, creates an appropriate a
      * {@link PinningSSLContextProvider} and assigns it to the {@link MqttBrokerConnection} instance.
@@ -27,6 +27,7 @@ import org.openhab.core.io.transport.mqtt.MqttBrokerConnectionConfig;
 public class BrokerHandlerConfig extends MqttBrokerConnectionConfig {
     public @Nullable Integer reconnectTime;
     public @Nullable Integer timeoutInMs;
+    public int maxInFlight = PublishQueue.DEFAULT_MAX_IN_FLIGHT;
 
     // For more security, the following optional parameters can be altered
 
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+
+/**
+ * Limits the number of messages a broker connection publishes at the same time.
+ *
+ * A message is in flight from handing it to the connection until its publish future completes, which for QoS 1 and 2
+ * is when the broker acknowledged it. Once 'maxInFlight' messages are in flight further messages are queued in order.
+ * A retained message replaces a queued retained message of the same topic, only the last value of such a topic is
+ * published and the futures of both messages complete with its result.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class PublishQueue {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 10;
+
+    private final MqttBrokerConnection connection;
+    private final int maxInFlight;
+
+    // guarded by this
+    private final Deque<Message> queue = new ArrayDeque<>();
+    // queued retained messages by topic
+    private final Map<String, Message> queuedRetained = new HashMap<>();
+    private int inFlight = 0;
+    private boolean stopped = false;
+    private long publishedCount = 0;
+    private long coalescedCount = 0;
+    private long latencySum = 0;
+    private long latencyCount = 0;
+
+    private static class Message {
+        private final String topic;
+        private byte[] payload;
+        private int qos;
+        private final boolean retain;
+        private final long queuedAt = System.nanoTime();
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        private Message(String topic, byte[] payload, int qos, boolean retain) {
+            this.topic = topic;
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+    }
+
+    /**
+     * @param connection The broker connection to publish on
+     * @param maxInFlight The maximum number of messages in flight, no limit if not positive
+     */
+    public PublishQueue(MqttBrokerConnection connection, int maxInFlight) {
+        this.connection = connection;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public MqttBrokerConnection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Publishes a message as soon as less than 'maxInFlight' messages are in flight.
+     *
+     * @param topic The topic
+     * @param payload The message payload
+     * @param qos The quality of service of the message
+     * @param retain True if the message shall be retained by the broker
+     * @return A future like {@link MqttBrokerConnection#publish(String, byte[], int, boolean)} returns. It completes
+     *         exceptionally if the queue is stopped before the message has been published.
+     */
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        Message message;
+        synchronized (this) {
+            if (stopped) {
+                CompletableFuture<Boolean> f = new CompletableFuture<>();
+                f.completeExceptionally(new IllegalStateException("The publish queue has been stopped"));
+                return f;
+            }
+            Message queued = retain ? queuedRetained.get(topic) : null;
+            if (queued != null) {
+                // the broker only keeps the last retained value of a topic
+                queued.payload = payload;
+                queued.qos = qos;
+                coalescedCount++;
+                return queued.future;
+            }
+            message = new Message(topic, payload, qos, retain);
+            if (maxInFlight > 0 && inFlight >= maxInFlight) {
+                queue.add(message);
+                if (retain) {
+                    queuedRetained.put(topic, message);
+                }
+                return message.future;
+            }
+            inFlight++;
+        }
+        send(message);
+        return message.future;
+    }
+
+    private void send(Message first) {
+        Message message = first;
+        // loop instead of recursing for publishes which complete immediately, e.g. while disconnected
+        while (message != null) {
+            final Message current = message;
+            CompletableFuture<Boolean> result = connection.publish(current.topic, current.payload, current.qos,
+                    current.retain);
+            if (!result.isDone()) {
+                result.whenComplete((r, e) -> {
+                    Message next = completed(current, r, e);
+                    if (next != null) {
+                        send(next);
+                    }
+                });
+                return;
+            }
+            message = result.handle((r, e) -> completed(current, r, e)).join();
+        }
+    }
+
+    /**
+     * Completes the future of a published message and takes the next queued message, which takes over the slot of
+     * the completed one.
+     *
+     * @return The next message to publish, null if there is none
+     */
+    private @Nullable Message completed(Message message, @Nullable Boolean result, @Nullable Throwable error) {
+        if (error != null) {
+            message.future.completeExceptionally(error);
+        } else {
+            message.future.complete(result);
+        }
+        synchronized (this) {
+            publishedCount++;
+            latencySum += System.nanoTime() - message.queuedAt;
+            latencyCount++;
+            Message next = queue.poll();
+            if (next == null) {
+                inFlight--;
+            } else if (next.retain) {
+                queuedRetained.remove(next.topic);
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Fails all queued messages and all messages published later on.
+     */
+    public void stop() {
+        List<Message> dropped;
+        synchronized (this) {
+            stopped = true;
+            dropped = new ArrayList<>(queue);
+            queue.clear();
+            queuedRetained.clear();
+        }
+        dropped.forEach(m -> m.future.completeExceptionally(
+                new IllegalStateException("The publish queue has been stopped before publishing")));
+    }
+
+    /**
+     * Returns the number of messages waiting for a free slot.
+     */
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of messages handed to the connection which are not yet completed.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of completed messages.
+     */
+    public synchronized long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * Returns the number of messages which have been replaced by a later retained message of the same topic.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the average time in milliseconds from queuing a message to its completion of the messages completed since
+     * the last call and starts a new average.
+     *
+     * @return The average latency, null if no message has been completed since the last call
+     */
+    public synchronized @Nullable Long pollAverageLatency() {
+        if (latencyCount == 0) {
+            return null;
+        }
+        long average = TimeUnit.NANOSECONDS.toMillis(latencySum / latencyCount);
+        latencySum = 0;
+        latencyCount = 0;
+        return average;
+    }
+}
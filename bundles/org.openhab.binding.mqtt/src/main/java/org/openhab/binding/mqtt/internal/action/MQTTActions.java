@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.mqtt.internal.action;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.PublishQueue;
 import org.openhab.core.automation.annotation.ActionInput;
 import org.openhab.core.automation.annotation.RuleAction;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -76,13 +79,18 @@ public class MQTTActions implements ThingActions {
             return;
         }
 
-        connection.publish(topic, value.getBytes(), connection.getQos(), retain != null && retain.booleanValue())
-                .thenRun(() -> {
-                    logger.debug("MQTT publish to {} performed", topic);
-                }).exceptionally(e -> {
-                    logger.warn("MQTT publish to {} failed!", topic);
-                    return null;
-                });
+        final byte[] payload = value.getBytes();
+        final boolean retained = retain != null && retain.booleanValue();
+        final PublishQueue publishQueue = brokerHandler.getPublishQueue();
+        final CompletableFuture<Boolean> future = publishQueue != null
+                ? publishQueue.publish(topic, payload, connection.getQos(), retained)
+                : connection.publish(topic, payload, connection.getQos(), retained);
+        future.thenRun(() -> {
+            logger.debug("MQTT publish to {} performed", topic);
+        }).exceptionally(e -> {
+            logger.warn("MQTT publish to {} failed!", topic);
+            return null;
+        });
     }
 
     public static void publishMQTT(ThingActions actions, @Nullable String topic, @Nullable String value) {
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TopicTrie}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TopicTrieTest {
+
+    @Test
+    public void matchWildcards() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("homeassistant/+/+/config", "ha");
+        trie.add("homeassistant/+/+/+/config", "ha-node");
+        trie.add("+/+/$homie", "homie");
+        trie.add("sport/#", "sport");
+        trie.add("sport/tennis/player1", "player1");
+
+        assertThat(trie.match("homeassistant/switch/light/config"), contains("ha"));
+        assertThat(trie.match("homeassistant/switch/node/light/config"), contains("ha-node"));
+        assertThat(trie.match("homeassistant/switch/light/state"), is(empty()));
+        assertThat(trie.match("homie/device/$homie"), contains("homie"));
+        assertThat(trie.match("sport"), contains("sport"));
+        assertThat(trie.match("sport/tennis/player1"), containsInAnyOrder("sport", "player1"));
+        assertThat(trie.match("sports"), is(empty()));
+        assertThat(trie.size(), is(5));
+    }
+
+    @Test
+    public void remove() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("a/+/c", "first");
+        trie.add("a/+/c", "second");
+
+        assertThat(trie.remove("a/+/c", "first"), is(true));
+        assertThat(trie.remove("a/+/c", "first"), is(false));
+        assertThat(trie.remove("a/b/c", "second"), is(false));
+        assertThat(trie.match("a/b/c"), contains("second"));
+
+        assertThat(trie.remove("a/+/c", "second"), is(true));
+        assertThat(trie.isEmpty(), is(true));
+        assertThat(trie.match("a/b/c"), is(empty()));
+    }
+
+    @Test
+    public void covers() {
+        assertThat(TopicTrie.covers("homeassistant/#", "homeassistant/+/+/config"), is(true));
+        assertThat(TopicTrie.covers("a/+/c", "a/b/c"), is(true));
+        assertThat(TopicTrie.covers("a/#", "a"), is(true));
+        assertThat(TopicTrie.covers("a/b/c", "a/+/c"), is(false));
+        assertThat(TopicTrie.covers("a/+", "a/#"), is(false));
+        assertThat(TopicTrie.covers("a/+", "a/b/c"), is(false));
+        assertThat(TopicTrie.covers("a/b/+", "a/+/c"), is(false));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+
+/**
+ * Tests the {@link PublishQueue}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class PublishQueueTest {
+    private @Mock MqttBrokerConnection connection;
+
+    private final List<CompletableFuture<Boolean>> published = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            published.add(future);
+            return future;
+        }).when(connection).publish(anyString(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void limitsMessagesInFlight() {
+        PublishQueue queue = new PublishQueue(connection, 2);
+
+        CompletableFuture<Boolean> first = queue.publish("a", new byte[] { 1 }, 1, false);
+        queue.publish("b", new byte[] { 2 }, 1, false);
+        CompletableFuture<Boolean> third = queue.publish("c", new byte[] { 3 }, 1, false);
+
+        verify(connection, times(2)).publish(anyString(), any(), anyInt(), anyBoolean());
+        assertThat(queue.getInFlight(), is(2));
+        assertThat(queue.getQueueSize(), is(1));
+
+        published.get(0).complete(true);
+
+        assertThat(first.isDone(), is(true));
+        verify(connection).publish(eq("c"), any(), eq(1), eq(false));
+        assertThat(queue.getInFlight(), is(2));
+        assertThat(queue.getQueueSize(), is(0));
+
+        published.get(1).complete(true);
+        published.get(2).complete(true);
+
+        assertThat(third.join(), is(true));
+        assertThat(queue.getInFlight(), is(0));
+        assertThat(queue.getPublishedCount(), is(3L));
+    }
+
+    @Test
+    public void coalescesQueuedRetainedMessages() {
+        PublishQueue queue = new PublishQueue(connection, 1);
+
+        queue.publish("busy", new byte[] { 0 }, 1, false);
+        CompletableFuture<Boolean> first = queue.publish("retained", new byte[] { 1 }, 1, true);
+        CompletableFuture<Boolean> second = queue.publish("retained", new byte[] { 2 }, 1, true);
+        queue.publish("other", new byte[] { 3 }, 1, false);
+
+        assertThat(queue.getQueueSize(), is(2));
+        assertThat(queue.getCoalescedCount(), is(1L));
+
+        published.get(0).complete(true);
+
+        verify(connection).publish(eq("retained"), eq(new byte[] { 2 }), eq(1), eq(true));
+        verify(connection, never()).publish(eq("retained"), eq(new byte[] { 1 }), anyInt(), anyBoolean());
+
+        published.get(1).complete(true);
+
+        assertThat(first.join(), is(true));
+        assertThat(second.join(), is(true));
+        verify(connection).publish(eq("other"), any(), eq(1), eq(false));
+    }
+
+    @Test
+    public void stopFailsQueuedMessages() {
+        PublishQueue queue = new PublishQueue(connection, 1);
+
+        queue.publish("a", new byte[] { 1 }, 1, false);
+        CompletableFuture<Boolean> queued = queue.publish("b", new byte[] { 2 }, 1, false);
+
+        queue.stop();
+
+        assertThat(queued.isCompletedExceptionally(), is(true));
+        assertThat(queue.publish("c", new byte[] { 3 }, 1, false).isCompletedExceptionally(), is(true));
+    }
+}
@@ -12,9 +12,10 @@
  */
 package org.openhab.binding.mqtt.internal;
 
-import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.util.concurrent.ScheduledExecutorService;
@@ -150,4 +151,32 @@ public class MQTTTopicDiscoveryServiceTest {
         connection.getSubscribers().get("topic").messageArrived("topic", bytes, false);
         verify(listener).topicVanished(eq(thing.getUID()), eq(connection), eq("topic"));
     }
+
+    @Test
+    public void coveredTopicsShareSubscription() {
+        handler.initialize();
+        BrokerHandlerEx.verifyCreateBrokerConnection(handler, 1);
+        subject.createdHandler(handler);
+
+        MQTTTopicDiscoveryParticipant otherListener = mock(MQTTTopicDiscoveryParticipant.class);
+        subject.subscribe(listener, "topic/#");
+        subject.subscribe(otherListener, "topic/+/config");
+        assertThat(connection.getSubscribers().keySet(), hasItem("topic/#"));
+        assertThat(connection.getSubscribers().keySet(), not(hasItem("topic/+/config")));
+
+        // Simulate receiving
+        final byte[] bytes = "TEST".getBytes();
+        connection.getSubscribers().get("topic/#").messageArrived("topic/device/config", bytes, false);
+        verify(listener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic/device/config"), eq(bytes));
+        verify(otherListener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic/device/config"),
+                eq(bytes));
+
+        connection.getSubscribers().get("topic/#").messageArrived("topic/device/state", bytes, false);
+        verify(listener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic/device/state"), eq(bytes));
+        verify(otherListener, never()).receivedMessage(any(), any(), eq("topic/device/state"), any());
+
+        // the covered topic gets its own subscription once the wider one is gone
+        subject.unsubscribe(listener);
+        assertThat(connection.getSubscribers().keySet(), hasItem("topic/+/config"));
+    }
 }
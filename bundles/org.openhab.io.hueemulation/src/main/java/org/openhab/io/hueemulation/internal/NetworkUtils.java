@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -116,6 +118,23 @@ public class NetworkUtils {
         return Response.status(httpCode).entity(str).build();
     }
 
+    /**
+     * Creates a json response tagged with an entity tag of the json. If the request already names this tag in its
+     * "If-None-Match" header a "304 Not Modified" response without body is created instead.
+     *
+     * @param request The request
+     * @param json The json response body
+     * @return
+     */
+    public static Response taggedJson(Request request, String json) {
+        EntityTag tag = new EntityTag(Integer.toHexString(json.hashCode()) + "-" + Integer.toHexString(json.length()));
+        ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(json).tag(tag).build();
+    }
+
     public static Response singleSuccess(Gson gson, String message, String uriPart) {
         List<HueResponse> responses = new ArrayList<>();
         responses.add(new HueResponse(new HueSuccessGeneric(message, uriPart)));
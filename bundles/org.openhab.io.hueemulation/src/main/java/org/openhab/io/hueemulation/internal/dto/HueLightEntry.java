@@ -13,12 +13,14 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.items.StringItem;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
@@ -57,6 +59,15 @@ public class HueLightEntry {
     public transient @Nullable Command lastCommand = null;
     public transient @Nullable HueStateChange lastHueChange = null;
 
+    /** The last serialization result and what it was computed from, reused while those are unchanged */
+    private transient @Nullable JsonElement cachedJson;
+    private transient @Nullable GenericItem cachedItem;
+    private transient @Nullable State cachedState;
+    private transient @Nullable String cachedLabel;
+    private transient @Nullable DeviceType cachedDeviceType;
+    private transient @Nullable Command cachedCommand;
+    private transient @Nullable HueStateChange cachedHueChange;
+
     public static class Config {
         public final String archetype = "classicbulb";
         public final String function = "functional";
@@ -160,6 +171,7 @@ public class HueLightEntry {
 
     /**
      * This custom serializer updates the light state and label, before serializing.
+     * The result is reused until the item, its state or label or the last command change.
      */
     @NonNullByDefault({})
     public static class Serializer implements JsonSerializer<HueLightEntry> {
@@ -169,18 +181,44 @@ public class HueLightEntry {
 
         @Override
         public JsonElement serialize(HueLightEntry product, Type type, JsonSerializationContext context) {
-            product.state = StateUtils.adjustedColorStateFromItemState(product.item.getState(), product.deviceType,
-                    product.lastCommand, product.lastHueChange);
-            String label = product.item.getLabel();
-            if (label != null) {
-                product.name = label;
+            synchronized (product) {
+                JsonElement json = product.cachedJson;
+                if (json != null && !product.isJsonOutdated()) {
+                    return json;
+                }
+                GenericItem item = product.item;
+                State itemState = item.getState();
+                String label = item.getLabel();
+                product.state = StateUtils.adjustedColorStateFromItemState(itemState, product.deviceType,
+                        product.lastCommand, product.lastHueChange);
+                if (label != null) {
+                    product.name = label;
+                }
+
+                JsonElement jsonSubscription = context.serialize(product, HueDeviceHelper.class);
+                product.cachedJson = jsonSubscription;
+                product.cachedItem = item;
+                product.cachedState = itemState;
+                product.cachedLabel = label;
+                product.cachedDeviceType = product.deviceType;
+                product.cachedCommand = product.lastCommand;
+                product.cachedHueChange = product.lastHueChange;
+                return jsonSubscription;
             }
-
-            JsonElement jsonSubscription = context.serialize(product, HueDeviceHelper.class);
-            return jsonSubscription;
         }
     }
 
+    /**
+     * Returns true if this entry has not been serialized yet or would be serialized differently than the last time,
+     * because the item, its state or label or the last command changed since.
+     */
+    public synchronized boolean isJsonOutdated() {
+        GenericItem item = this.item;
+        return cachedJson == null || cachedItem != item || !Objects.equals(cachedState, item.getState())
+                || !Objects.equals(cachedLabel, item.getLabel()) || cachedDeviceType != deviceType
+                || cachedCommand != lastCommand || cachedHueChange != lastHueChange;
+    }
+
     /**
      * Replaces the associated openHAB item of this hue device with the given once
      * and also synchronizes/updates the color information of this hue device with the item.
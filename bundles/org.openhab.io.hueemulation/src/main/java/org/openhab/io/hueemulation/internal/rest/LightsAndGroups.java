@@ -13,7 +13,11 @@
 package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +31,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -118,6 +123,10 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    // The serialized lights and the entries they were serialized from, guarded by this
+    private @Nullable String lightsJson;
+    private Map<String, HueLightEntry> lightsJsonEntries = Collections.emptyMap();
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
@@ -244,15 +253,42 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         hueDevice.updateItem(element);
     }
 
+    /**
+     * Returns the json of all lights. The lights are only serialized again if a light has been added, removed or
+     * replaced, or if one of them is outdated, see {@link HueLightEntry#isJsonOutdated()}.
+     */
+    private synchronized String getLightsJson() {
+        String json = lightsJson;
+        if (json == null || isLightsJsonOutdated()) {
+            json = cs.gson.toJson(cs.ds.lights);
+            lightsJson = json;
+            lightsJsonEntries = new HashMap<>(cs.ds.lights);
+        }
+        return json;
+    }
+
+    private boolean isLightsJsonOutdated() {
+        if (cs.ds.lights.size() != lightsJsonEntries.size()) {
+            return true;
+        }
+        for (Entry<String, HueLightEntry> entry : cs.ds.lights.entrySet()) {
+            HueLightEntry light = entry.getValue();
+            if (lightsJsonEntries.get(entry.getKey()) != light || light.isJsonOutdated()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return NetworkUtils.taggedJson(request, getLightsJson());
     }
 
     @GET
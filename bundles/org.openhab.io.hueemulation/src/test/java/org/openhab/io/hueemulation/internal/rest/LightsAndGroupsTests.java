@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -195,6 +196,28 @@ public class LightsAndGroupsTests {
         assertThat(device, nullValue());
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        String body = response.readEntity(String.class);
+        assertThat(etag, is(notNullValue()));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, response.getStatus());
+
+        // A state change of an item has to be visible
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaderString(HttpHeaders.ETAG), not(etag));
+        assertThat(response.readEntity(String.class), not(body));
+    }
+
     @Test
     public void changeSwitchState() {
         assertThat(((HueStatePlug) cs.ds.lights.get("1").state).on, is(false));
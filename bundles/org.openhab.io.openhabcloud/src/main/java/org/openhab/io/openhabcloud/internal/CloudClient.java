@@ -19,9 +19,14 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -31,7 +36,7 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -40,6 +45,7 @@ import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -53,6 +59,9 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocket;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -65,6 +74,30 @@ import io.socket.engineio.client.Transport;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * The maximum number of requests from the openHAB Cloud which are proxied at the same time, further ones are
+     * queued until a running one completes
+     */
+    private static final int MAX_RUNNING_REQUESTS = 8;
+
+    /*
+     * The maximum number of requests waiting for a running one to complete, further ones are answered with an error
+     */
+    private static final int MAX_QUEUED_REQUESTS = 64;
+
+    /*
+     * The maximum number of bytes OkHttp may hold in its queue of a WebSocket connection to the openHAB Cloud before no
+     * further response content is read. OkHttp closes the connection if the queue exceeds 16 MiB.
+     */
+    private static final long MAX_QUEUED_WEBSOCKET_BYTES = 1024 * 1024;
+
+    /*
+     * Interval in which the WebSocket queue is checked again while it is full
+     */
+    private static final long WEBSOCKET_QUEUE_CHECK_MILLIS = 50;
+
     /*
      * Logger for this class
      */
@@ -100,6 +133,27 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This map holds the requests waiting for one of the running requests to complete, in the order they were received.
+     * Both maps are only changed while holding requestLock.
+     */
+    private final Map<Integer, Request> queuedRequests = new LinkedHashMap<>();
+    private final Object requestLock = new Object();
+
+    /*
+     * This queue holds the Jetty callbacks of response content which has been emitted to the openHAB Cloud but not
+     * yet written by the socket.io transport. It is only accessed on the socket.io event thread, as is
+     * contentCheckScheduled.
+     */
+    private final Deque<Callback> unwrittenContent = new ArrayDeque<>();
+    private boolean contentCheckScheduled = false;
+
+    /*
+     * This variable holds the most recently opened WebSocket connection, whose queue size tells how much emitted
+     * content OkHttp has not written yet
+     */
+    private volatile @Nullable WebSocket webSocket;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -129,6 +183,11 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * Coalesces item updates and keeps the latest ones while the connection is down
+     */
+    private final ItemUpdateSender itemUpdateSender;
+
     /**
      * Constructor of CloudClient
      *
@@ -146,6 +205,9 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdateSender = new ItemUpdateSender(ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD),
+                this::isConnected, this::emitItemUpdate, ItemUpdateSender.DEFAULT_WINDOW_MILLIS,
+                ItemUpdateSender.DEFAULT_MAX_PENDING);
     }
 
     /**
@@ -154,7 +216,14 @@ public class CloudClient {
 
     public void connect() {
         try {
-            socket = IO.socket(baseURL);
+            OkHttpClient okHttpClient = new OkHttpClient();
+            IO.Options options = new IO.Options();
+            options.webSocketFactory = (request, listener) -> {
+                WebSocket newWebSocket = okHttpClient.newWebSocket(request, listener);
+                webSocket = newWebSocket;
+                return newWebSocket;
+            };
+            socket = IO.socket(baseURL, options);
             URL parsed = new URL(baseURL);
             protocol = parsed.getProtocol();
         } catch (URISyntaxException e) {
@@ -180,6 +249,14 @@ public class CloudClient {
                         headers.put("remoteaccess", List.of(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        logger.trace("Transport.EVENT_DRAIN");
+                        // The engine flushes its buffered packets in its own drain listener, which runs after this one
+                        EventThread.nextTick(() -> releaseWrittenContent(transport));
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -232,6 +309,7 @@ public class CloudClient {
     public void onConnect() {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
         isConnected = true;
+        itemUpdateSender.flush();
     }
 
     /**
@@ -242,8 +320,65 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
         isConnected = false;
-        // And clean up the list of running requests
-        runningRequests.clear();
+        // Content emitted before the disconnect will not be written, fail it and abort the running requests.
+        // Otherwise they continue after a reconnect in addition to the new ones.
+        EventThread.exec(() -> completeWrittenContent(false));
+        List<Request> aborted;
+        synchronized (requestLock) {
+            aborted = new ArrayList<>(runningRequests.values());
+            runningRequests.clear();
+            queuedRequests.clear();
+        }
+        for (Request request : aborted) {
+            request.abort(new IOException("Disconnected from the openHAB Cloud service"));
+        }
+    }
+
+    /*
+     * Asks Jetty for more response content once the emitted content is written, called on the socket.io event thread.
+     * If the transport is still writable after a drain, the engine has handed everything emitted so far to it. The
+     * polling transport drains once its HTTP request completed, the WebSocket transport as soon as OkHttp queued the
+     * frames, so for a WebSocket the content is only released while the OkHttp queue is below
+     * MAX_QUEUED_WEBSOCKET_BYTES, checking again every WEBSOCKET_QUEUE_CHECK_MILLIS.
+     */
+    private void releaseWrittenContent(Transport transport) {
+        if (unwrittenContent.isEmpty() || !transport.writable) {
+            return;
+        }
+        WebSocket currentWebSocket = webSocket;
+        if (io.socket.engineio.client.transports.WebSocket.NAME.equals(transport.name) && currentWebSocket != null
+                && currentWebSocket.queueSize() > MAX_QUEUED_WEBSOCKET_BYTES) {
+            if (!contentCheckScheduled) {
+                contentCheckScheduled = true;
+                ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(() -> EventThread.exec(() -> {
+                    contentCheckScheduled = false;
+                    releaseWrittenContent(transport);
+                }), WEBSOCKET_QUEUE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        completeWrittenContent(true);
+    }
+
+    /*
+     * Completes the callbacks of all emitted response content, called on the socket.io event thread.
+     * Jetty may continue reading in the thread completing a callback, which must not be the event thread.
+     */
+    private void completeWrittenContent(boolean written) {
+        if (unwrittenContent.isEmpty()) {
+            return;
+        }
+        List<Callback> callbacks = new ArrayList<>(unwrittenContent);
+        unwrittenContent.clear();
+        ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(() -> {
+            for (Callback callback : callbacks) {
+                if (written) {
+                    callback.succeeded();
+                } else {
+                    callback.failed(new IOException("Disconnected from the openHAB Cloud service"));
+                }
+            }
+        });
     }
 
     /**
@@ -332,16 +467,72 @@ public class CloudClient {
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
-            runningRequests.put(requestId, request);
+            submitRequest(requestId, request);
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    /*
+     * Sends a request to openHAB if less than MAX_RUNNING_REQUESTS are running, queues it otherwise and rejects it
+     * if MAX_QUEUED_REQUESTS are already waiting
+     */
+    private void submitRequest(int requestId, Request request) {
+        boolean rejected = false;
+        synchronized (requestLock) {
+            if (runningRequests.size() < MAX_RUNNING_REQUESTS) {
+                // Add it to the list of currently running requests to be able to cancel it if needed
+                runningRequests.put(requestId, request);
+            } else if (queuedRequests.size() < MAX_QUEUED_REQUESTS) {
+                logger.debug("Queuing request {}, {} requests are running", requestId, runningRequests.size());
+                queuedRequests.put(requestId, request);
+                return;
+            } else {
+                rejected = true;
+            }
+        }
+        if (rejected) {
+            logger.warn("Rejecting request {}, {} requests are already waiting", requestId, MAX_QUEUED_REQUESTS);
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", requestId);
+                responseJson.put("responseStatusText", "openHAB is busy, too many requests");
+                socket.emit("responseError", responseJson);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+            return;
+        }
+        sendRequest(requestId, request);
+    }
+
+    private void sendRequest(int requestId, Request request) {
+        ResponseListener listener = new ResponseListener(requestId);
+        request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                .send(listener);
+    }
+
+    /*
+     * Removes a completed request from the list of running requests and sends the next queued one
+     */
+    private void requestCompleted(int requestId) {
+        Entry<Integer, Request> next;
+        synchronized (requestLock) {
+            if (runningRequests.remove(requestId) == null) {
+                // the request has been running before a disconnect
+                return;
+            }
+            Iterator<Entry<Integer, Request>> queued = queuedRequests.entrySet().iterator();
+            if (!queued.hasNext()) {
+                return;
+            }
+            next = queued.next();
+            queued.remove();
+            runningRequests.put(next.getKey(), next.getValue());
+        }
+        sendRequest(next.getKey(), next.getValue());
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -364,11 +555,17 @@ public class CloudClient {
         try {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
-            // Find and abort running request
-            Request request = runningRequests.get(requestId);
+            // Drop the request if it is queued, find and abort it if it is running
+            Request request;
+            synchronized (requestLock) {
+                if (queuedRequests.remove(requestId) != null) {
+                    return;
+                }
+                request = runningRequests.get(requestId);
+            }
             if (request != null) {
+                // completing the aborted request removes it from the running requests
                 request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -463,13 +660,19 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are sent after a short delay, only the latest state of an item
+     * updated several times within it is sent. While there is no connection the latest states are kept and sent after
+     * connecting.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        itemUpdateSender.update(itemName, itemState);
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -497,6 +700,7 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        itemUpdateSender.stop();
         socket.disconnect();
     }
 
@@ -513,14 +717,19 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Jetty only delivers the next content chunk of a response after the socket.io transport has written the previous
+     * one or, for a WebSocket connection, while OkHttp's queue of unwritten frames is small enough. So a fast local
+     * response does not pile up in memory while the connection to the openHAB Cloud is slow.
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
+        private final long mStartTime = System.nanoTime();
+        private long mContentBytes = 0;
+        private int mContentChunks = 0;
 
         public ResponseListener(int requestId) {
             mRequestId = requestId;
@@ -541,7 +750,12 @@ public class CloudClient {
         @Override
         public void onComplete(Result result) {
             // Remove this request from list of running requests
-            runningRequests.remove(mRequestId);
+            requestCompleted(mRequestId);
+            if (logger.isDebugEnabled()) {
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mStartTime);
+                logger.debug("Request {} sent {} bytes in {} chunks within {} ms ({} kB/s)", mRequestId, mContentBytes,
+                        mContentChunks, millis, millis > 0 ? mContentBytes / millis : mContentBytes);
+            }
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -585,17 +799,29 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
-            logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
+            int size = content.remaining();
+            logger.debug("Jetty received response content of size {}", size);
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
+                // socket.io keeps the array until the message is written, so it cannot be reused
                 responseJson.put("body", BufferUtil.toArray(content));
                 socket.emit("responseContentBinary", responseJson);
+                mContentBytes += size;
+                mContentChunks++;
                 logger.debug("Sent content to request {}", mRequestId);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
+            // socket.io emits on its event thread, the callback is completed by releaseWrittenContent afterwards
+            EventThread.exec(() -> {
+                if (socket.connected()) {
+                    unwrittenContent.add(callback);
+                } else {
+                    callback.failed(new IOException("Disconnected from the openHAB Cloud service"));
+                }
+            });
         }
 
         @Override
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the item updates sent to the openHAB Cloud.
+ *
+ * The first update of an item schedules a flush after the coalescing window. Later updates of an item which is still
+ * pending replace its state, so only the latest state of every item is sent with the flush. While the connection is
+ * down the latest states are kept for up to 'maxPending' items, dropping the oldest ones, and are sent as soon as
+ * {@link #flush()} is called after connecting.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateSender {
+    public static final long DEFAULT_WINDOW_MILLIS = 500;
+    public static final int DEFAULT_MAX_PENDING = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateSender.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final BooleanSupplier connected;
+    private final BiConsumer<String, String> sender;
+    private final long windowMillis;
+    private final int maxPending;
+
+    // guarded by this, latest state by item name in the order of the first pending update
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    private long sentCount = 0;
+    private long coalescedCount = 0;
+    private long droppedCount = 0;
+    private long reportedDroppedCount = 0;
+
+    /**
+     * @param scheduler The scheduler to run the flushes on
+     * @param connected Tells whether the connection to the openHAB Cloud is up
+     * @param sender Sends the state of an item, called with the item name and the state
+     * @param windowMillis The time in milliseconds to collect updates before sending them
+     * @param maxPending The maximum number of items to keep the state of while the connection is down
+     */
+    public ItemUpdateSender(ScheduledExecutorService scheduler, BooleanSupplier connected,
+            BiConsumer<String, String> sender, long windowMillis, int maxPending) {
+        this.scheduler = scheduler;
+        this.connected = connected;
+        this.sender = sender;
+        this.windowMillis = windowMillis;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Queues the state of an item for the next flush.
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public synchronized void update(String itemName, String itemState) {
+        if (pending.put(itemName, itemState) != null) {
+            coalescedCount++;
+        } else if (pending.size() > maxPending) {
+            Iterator<String> oldest = pending.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+            droppedCount++;
+        }
+        if (flushJob == null && connected.getAsBoolean()) {
+            flushJob = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the pending item states if the connection is up.
+     */
+    public void flush() {
+        Map<String, String> updates;
+        long sent;
+        long coalesced;
+        long dropped;
+        long newlyDropped;
+        synchronized (this) {
+            flushJob = null;
+            if (pending.isEmpty() || !connected.getAsBoolean()) {
+                return;
+            }
+            updates = new LinkedHashMap<>(pending);
+            pending.clear();
+            sentCount += updates.size();
+            sent = sentCount;
+            coalesced = coalescedCount;
+            dropped = droppedCount;
+            newlyDropped = droppedCount - reportedDroppedCount;
+            reportedDroppedCount = droppedCount;
+        }
+        if (newlyDropped > 0) {
+            logger.info("Dropped the updates of {} items while disconnected from the openHAB Cloud, sending the latest "
+                    + "states of {} items", newlyDropped, updates.size());
+        }
+        logger.debug("Sending {} item updates, {} sent, {} coalesced and {} dropped in total", updates.size(), sent,
+                coalesced, dropped);
+        updates.forEach(sender);
+    }
+
+    /**
+     * Cancels a scheduled flush and discards the pending item states.
+     */
+    public synchronized void stop() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        pending.clear();
+        logger.debug("Sent {} item updates, coalesced {}, dropped {} while disconnected", sentCount, coalescedCount,
+                droppedCount);
+    }
+
+    /**
+     * Returns the number of items with a pending state.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of item states handed to the sender.
+     */
+    public synchronized long getSentCount() {
+        return sentCount;
+    }
+
+    /**
+     * Returns the number of item states which have been replaced by a later state before being sent.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of item states which have been dropped because too many items were pending.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
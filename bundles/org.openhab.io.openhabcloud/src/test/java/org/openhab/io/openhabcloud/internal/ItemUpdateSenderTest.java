@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests {@link ItemUpdateSender}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault(value = { DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class ItemUpdateSenderTest {
+    private @Mock ScheduledExecutorService scheduler;
+    private @Mock ScheduledFuture<?> flushJob;
+    private @Captor ArgumentCaptor<Runnable> flushCaptor;
+
+    private boolean connected = true;
+    private final List<String> sent = new ArrayList<>();
+    private ItemUpdateSender instance;
+
+    @BeforeEach
+    public void before() {
+        instance = new ItemUpdateSender(scheduler, () -> connected, (item, state) -> sent.add(item + "=" + state), 500,
+                2);
+    }
+
+    @Test
+    public void updatesWithinTheWindowAreCoalesced() {
+        doReturn(flushJob).when(scheduler).schedule(flushCaptor.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+        instance.update("Temperature", "20");
+        instance.update("Humidity", "40");
+        instance.update("Temperature", "21");
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        flushCaptor.getValue().run();
+        assertEquals(List.of("Temperature=21", "Humidity=40"), sent);
+        assertEquals(2, instance.getSentCount());
+        assertEquals(1, instance.getCoalescedCount());
+        assertEquals(0, instance.getPendingCount());
+    }
+
+    @Test
+    public void oldestItemsAreDroppedWhenTooManyArePending() {
+        connected = false;
+
+        instance.update("Temperature", "20");
+        instance.update("Humidity", "40");
+        instance.update("Pressure", "1013");
+        instance.update("Humidity", "41");
+
+        assertEquals(2, instance.getPendingCount());
+        assertEquals(1, instance.getDroppedCount());
+        assertEquals(1, instance.getCoalescedCount());
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void pendingUpdatesAreSentWhenFlushedAfterReconnecting() {
+        connected = false;
+        instance.update("Temperature", "20");
+        instance.update("Humidity", "40");
+        instance.flush();
+        assertTrue(sent.isEmpty());
+
+        connected = true;
+        instance.flush();
+        assertEquals(List.of("Temperature=20", "Humidity=40"), sent);
+        assertEquals(0, instance.getPendingCount());
+        verifyNoInteractions(scheduler);
+    }
+}
@@ -18,7 +18,7 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -41,16 +41,23 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public abstract class AbstractBufferedPersistenceService<T> implements PersistenceService {
 
-    private static final long BUFFER_OFFER_TIMEOUT_MILLIS = 500;
+    private static final long DROP_WARNING_INTERVAL_MILLIS = 60000;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractBufferedPersistenceService.class);
     protected @Nullable BlockingQueue<T> buffer;
 
     private boolean writeImmediately;
+    private final Object writeImmediatelyLock = new Object();
+
+    private final AtomicLong droppedItems = new AtomicLong();
+    private final AtomicLong lastDropWarningMillis = new AtomicLong();
+    private final AtomicLong droppedItemsAtLastWarning = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile long maxFlushMillis;
 
     protected void resetWithBufferSize(int bufferSize) {
         int capacity = Math.max(1, bufferSize);
-        buffer = new ArrayBlockingQueue<>(capacity, true);
+        buffer = new ArrayBlockingQueue<>(capacity);
         writeImmediately = bufferSize == 0;
     }
 
@@ -60,6 +67,14 @@ public abstract class AbstractBufferedPersistenceService<T> implements Persisten
 
     protected abstract void flushBufferedData();
 
+    /**
+     * Called after an item has been buffered. Implementations schedule a flush in the background, this method must
+     * not block.
+     *
+     * @param bufferedItems number of items in the buffer after adding the item
+     */
+    protected abstract void itemBuffered(int bufferedItems);
+
     @Override
     public void store(Item item) {
         store(item, null);
@@ -76,6 +91,7 @@ public abstract class AbstractBufferedPersistenceService<T> implements Persisten
         if (!isReadyToStore()) {
             return;
         }
+        BlockingQueue<T> buffer = this.buffer;
         if (buffer == null) {
             throw new IllegalStateException("Buffer not initialized with resetWithBufferSize. Bug?");
         }
@@ -89,41 +105,77 @@ public abstract class AbstractBufferedPersistenceService<T> implements Persisten
             logger.debug("Writing immediately item {} [{}]", realName, uuid);
             // We want to write everything immediately
             // Synchronous behavior to ensure buffer does not get full.
-            synchronized (this) {
-                boolean buffered = addToBuffer(persistenceItem);
+            synchronized (writeImmediatelyLock) {
+                boolean buffered = buffer.offer(persistenceItem);
                 assert buffered;
-                flushBufferedData();
+                flushBuffer();
             }
         } else {
-            long bufferStart = System.currentTimeMillis();
-            boolean buffered = addToBuffer(persistenceItem);
-            if (buffered) {
-                logger.debug("Buffered item {} in {} ms. Total time for store(): {} [{}]", realName,
-                        System.currentTimeMillis() - bufferStart, System.currentTimeMillis() - storeStart, uuid);
-            } else {
-                logger.debug(
-                        "Buffer is full. Writing buffered data immediately and trying again. Consider increasing bufferSize");
-                // Buffer is full, commit it immediately
-                flushBufferedData();
-                boolean buffered2 = addToBuffer(persistenceItem);
-                if (buffered2) {
-                    logger.debug("Buffered item in {} ms (2nd try, flushed buffer in-between) [{}]",
-                            System.currentTimeMillis() - bufferStart, uuid);
-                } else {
-                    // The unlikely case happened -- buffer got full again immediately
-                    logger.warn("Buffering failed for the second time -- Too small bufferSize? Discarding data [{}]",
-                            uuid);
+            // Never wait for the background flush, drop the oldest data instead
+            while (!buffer.offer(persistenceItem)) {
+                if (buffer.poll() != null) {
+                    droppedItems.incrementAndGet();
+                    logger.debug("Buffer is full, dropped oldest item. Consider increasing bufferSize [{}]", uuid);
+                    warnDroppedItems(storeStart);
                 }
             }
+            itemBuffered(buffer.size());
+            logger.debug("Buffered item {}. Total time for store(): {} [{}]", realName,
+                    System.currentTimeMillis() - storeStart, uuid);
         }
     }
 
-    protected boolean addToBuffer(T persistenceItem) {
-        try {
-            return buffer != null && buffer.offer(persistenceItem, BUFFER_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            logger.warn("Interrupted when trying to buffer data! Dropping data");
-            return false;
+    /**
+     * Warns about dropped items at most once per {@link #DROP_WARNING_INTERVAL_MILLIS}
+     */
+    private void warnDroppedItems(long now) {
+        long last = lastDropWarningMillis.get();
+        if (now - last >= DROP_WARNING_INTERVAL_MILLIS && lastDropWarningMillis.compareAndSet(last, now)) {
+            long dropped = droppedItems.get();
+            logger.warn("Buffer is full, dropped {} oldest items since the last warning. Consider increasing "
+                    + "bufferSize", dropped - droppedItemsAtLastWarning.getAndSet(dropped));
         }
     }
+
+    /**
+     * Writes the buffered data and records how long it took
+     */
+    protected void flushBuffer() {
+        long flushStart = System.currentTimeMillis();
+        flushBufferedData();
+        long duration = System.currentTimeMillis() - flushStart;
+        lastFlushMillis = duration;
+        if (duration > maxFlushMillis) {
+            maxFlushMillis = duration;
+        }
+    }
+
+    /**
+     * @return number of items waiting to be written
+     */
+    public int getBufferedItemCount() {
+        BlockingQueue<T> buffer = this.buffer;
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    /**
+     * @return number of items dropped because the buffer was full
+     */
+    public long getDroppedItemCount() {
+        return droppedItems.get();
+    }
+
+    /**
+     * @return duration of the last flush in milliseconds
+     */
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+
+    /**
+     * @return duration of the slowest flush in milliseconds
+     */
+    public long getMaxFlushMillis() {
+        return maxFlushMillis;
+    }
 }
@@ -39,6 +39,8 @@ public class DynamoDBConfig {
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
     public static final long DEFAULT_BUFFER_COMMIT_INTERVAL_MILLIS = 1000;
     public static final int DEFAULT_BUFFER_SIZE = 1000;
+    public static final int DEFAULT_BUFFER_FLUSH_SIZE = 100;
+    public static final int DEFAULT_MAX_CONCURRENT_BATCHES = 4;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
@@ -50,6 +52,8 @@ public class DynamoDBConfig {
     private long writeCapacityUnits = DEFAULT_WRITE_CAPACITY_UNITS;
     private long bufferCommitIntervalMillis = DEFAULT_BUFFER_COMMIT_INTERVAL_MILLIS;
     private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int bufferFlushSize = DEFAULT_BUFFER_FLUSH_SIZE;
+    private int maxConcurrentBatches = DEFAULT_MAX_CONCURRENT_BATCHES;
 
     /**
      *
@@ -141,8 +145,26 @@ public class DynamoDBConfig {
                 bufferSize = Integer.parseInt(bufferSizeParam);
             }
 
+            final int bufferFlushSize;
+            String bufferFlushSizeParam = (String) config.get("bufferFlushSize");
+            if (bufferFlushSizeParam == null || bufferFlushSizeParam.isBlank()) {
+                LOGGER.debug("Buffer flush size: {}", DEFAULT_BUFFER_FLUSH_SIZE);
+                bufferFlushSize = DEFAULT_BUFFER_FLUSH_SIZE;
+            } else {
+                bufferFlushSize = Integer.parseInt(bufferFlushSizeParam);
+            }
+
+            final int maxConcurrentBatches;
+            String maxConcurrentBatchesParam = (String) config.get("maxConcurrentBatches");
+            if (maxConcurrentBatchesParam == null || maxConcurrentBatchesParam.isBlank()) {
+                LOGGER.debug("Max concurrent batches: {}", DEFAULT_MAX_CONCURRENT_BATCHES);
+                maxConcurrentBatches = DEFAULT_MAX_CONCURRENT_BATCHES;
+            } else {
+                maxConcurrentBatches = Integer.parseInt(maxConcurrentBatchesParam);
+            }
+
             return new DynamoDBConfig(region, credentials, table, createTable, readCapacityUnits, writeCapacityUnits,
-                    bufferCommitIntervalMillis, bufferSize);
+                    bufferCommitIntervalMillis, bufferSize, bufferFlushSize, maxConcurrentBatches);
         } catch (Exception e) {
             LOGGER.error("Error with configuration", e);
             return null;
@@ -150,7 +172,8 @@ public class DynamoDBConfig {
     }
 
     public DynamoDBConfig(Regions region, AWSCredentials credentials, String table, boolean createTable,
-            long readCapacityUnits, long writeCapacityUnits, long bufferCommitIntervalMillis, int bufferSize) {
+            long readCapacityUnits, long writeCapacityUnits, long bufferCommitIntervalMillis, int bufferSize,
+            int bufferFlushSize, int maxConcurrentBatches) {
         this.region = region;
         this.credentials = credentials;
         this.tablePrefix = table;
@@ -159,6 +182,8 @@ public class DynamoDBConfig {
         this.writeCapacityUnits = writeCapacityUnits;
         this.bufferCommitIntervalMillis = bufferCommitIntervalMillis;
         this.bufferSize = bufferSize;
+        this.bufferFlushSize = bufferFlushSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
     }
 
     public AWSCredentials getCredentials() {
@@ -192,4 +217,12 @@ public class DynamoDBConfig {
     public int getBufferSize() {
         return bufferSize;
     }
+
+    public int getBufferFlushSize() {
+        return bufferFlushSize;
+    }
+
+    public int getMaxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
 }
@@ -23,11 +23,16 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -163,6 +168,10 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
     private static final int WAIT_ON_FIRST_RESOURCE_NOT_FOUND_MILLIS = 5000;
     private static final int[] WAIT_MILLIS_IN_RETRIES = new int[] { 100, 100, 200, 300, 500 };
     private static final String DYNAMODB_THREADPOOL_NAME = "dynamodbPersistenceService";
+    private static final String DYNAMODB_WRITER_THREADPOOL_NAME = "dynamodbPersistenceWriter";
+    // maximum number of put requests in a single BatchWriteItem request
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+    private static final long WRITER_SHUTDOWN_TIMEOUT_MILLIS = 30000;
 
     private final ItemRegistry itemRegistry;
     private @Nullable DynamoDBClient db;
@@ -172,7 +181,12 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
     private @NonNullByDefault({}) DynamoDBTableNameResolver tableNameResolver;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(DYNAMODB_THREADPOOL_NAME));
-    private @Nullable ScheduledFuture<?> writeBufferedDataFuture;
+    private final Object flushLock = new Object();
+    private @Nullable ExecutorService writers;
+    private final AtomicBoolean immediateFlushPending = new AtomicBoolean();
+    private final AtomicBoolean delayedFlushPending = new AtomicBoolean();
+    private volatile long commitIntervalMillis;
+    private volatile int flushSize;
 
     @Activate
     public DynamoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -210,27 +224,11 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
             return;
         }
 
-        writeBufferedDataFuture = null;
         resetWithBufferSize(dbConfig.getBufferSize());
-        long commitIntervalMillis = dbConfig.getBufferCommitIntervalMillis();
-        if (commitIntervalMillis > 0) {
-            writeBufferedDataFuture = scheduler.scheduleWithFixedDelay(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        DynamoDBPersistenceService.this.flushBufferedData();
-                    } catch (RuntimeException e) {
-                        // We want to catch all unexpected exceptions since all unhandled exceptions make
-                        // ScheduledExecutorService halt the regular running of the task.
-                        // It is better to print out the exception, and try again
-                        // (on next cycle)
-                        logger.warn(
-                                "Execution of scheduled flushing of buffered data failed unexpectedly. Ignoring exception, trying again according to configured commit interval of {} ms.",
-                                commitIntervalMillis, e);
-                    }
-                }
-            }, 0, commitIntervalMillis, TimeUnit.MILLISECONDS);
-        }
+        commitIntervalMillis = dbConfig.getBufferCommitIntervalMillis();
+        flushSize = Math.max(1, Math.min(dbConfig.getBufferFlushSize(), Math.max(1, dbConfig.getBufferSize())));
+        writers = Executors.newFixedThreadPool(Math.max(1, dbConfig.getMaxConcurrentBatches()),
+                new NamedThreadFactory(DYNAMODB_WRITER_THREADPOOL_NAME));
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -238,9 +236,27 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
     @Deactivate
     public void deactivate() {
         logger.debug("dynamodb persistence service deactivated");
-        if (writeBufferedDataFuture != null) {
-            writeBufferedDataFuture.cancel(false);
-            writeBufferedDataFuture = null;
+        if (isProperlyConfigured) {
+            // write what is left in the buffer before the client is closed
+            isProperlyConfigured = false;
+            try {
+                flushBuffer();
+            } catch (RuntimeException e) {
+                logger.warn("Flushing buffered data on deactivation failed", e);
+            }
+        }
+        ExecutorService writers = this.writers;
+        this.writers = null;
+        if (writers != null) {
+            writers.shutdown();
+            try {
+                if (!writers.awaitTermination(WRITER_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    writers.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                writers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
         }
         resetClient();
     }
@@ -388,47 +404,96 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
         return Collections.emptySet();
     }
 
+    /**
+     * Schedules a background flush once enough items are buffered, or once the oldest buffered item is
+     * 'bufferCommitIntervalMillis' old. Never blocks the caller.
+     */
+    @Override
+    protected void itemBuffered(int bufferedItems) {
+        try {
+            if (bufferedItems >= flushSize) {
+                if (immediateFlushPending.compareAndSet(false, true)) {
+                    scheduler.execute(this::scheduledFlush);
+                }
+            } else if (commitIntervalMillis > 0 && delayedFlushPending.compareAndSet(false, true)) {
+                scheduler.schedule(this::scheduledFlush, commitIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            logger.debug("Flush not scheduled, service is shutting down");
+        }
+    }
+
+    private void scheduledFlush() {
+        // items buffered from now on schedule the next flush themselves
+        immediateFlushPending.set(false);
+        delayedFlushPending.set(false);
+        try {
+            flushBuffer();
+            logger.debug("Flushed buffered data in {} ms, {} items still buffered", getLastFlushMillis(),
+                    getBufferedItemCount());
+        } catch (RuntimeException e) {
+            // We want to catch all unexpected exceptions since they would otherwise get lost in the executor.
+            // The items still in the buffer are written with the next flush.
+            logger.warn("Execution of scheduled flushing of buffered data failed unexpectedly. Ignoring exception.",
+                    e);
+        }
+    }
+
     @Override
     protected void flushBufferedData() {
-        if (buffer != null && buffer.isEmpty()) {
+        BlockingQueue<DynamoDBItem<?>> buffer = this.buffer;
+        if (buffer == null || buffer.isEmpty()) {
             return;
         }
-        logger.debug("Writing buffered data. Buffer size: {}", buffer.size());
-
-        for (;;) {
-            Map<String, Deque<DynamoDBItem<?>>> itemsByTable = readBuffer();
-            // Write batch of data, one table at a time
-            for (Entry<String, Deque<DynamoDBItem<?>>> entry : itemsByTable.entrySet()) {
-                String tableName = entry.getKey();
-                Deque<DynamoDBItem<?>> batch = entry.getValue();
-                if (!batch.isEmpty()) {
-                    flushBatch(getDBMapper(tableName), batch);
+        synchronized (flushLock) {
+            logger.debug("Writing buffered data. Buffer size: {}", buffer.size());
+            List<Future<?>> batches = new ArrayList<>();
+            // Write batches of at most 25 items, several of them in parallel
+            for (Entry<String, List<DynamoDBItem<?>>> entry : readBuffer(buffer).entrySet()) {
+                DynamoDBMapper mapper = getDBMapper(entry.getKey());
+                List<DynamoDBItem<?>> items = entry.getValue();
+                for (int i = 0; i < items.size(); i += MAX_BATCH_WRITE_ITEMS) {
+                    Deque<DynamoDBItem<?>> batch = new ArrayDeque<>(
+                            items.subList(i, Math.min(items.size(), i + MAX_BATCH_WRITE_ITEMS)));
+                    batches.add(submitBatch(mapper, batch));
                 }
             }
-            if (buffer != null && buffer.isEmpty()) {
-                break;
+            for (Future<?> batch : batches) {
+                try {
+                    batch.get();
+                } catch (ExecutionException e) {
+                    logger.warn("Writing batch of data failed unexpectedly", e.getCause());
+                } catch (InterruptedException e) {
+                    logger.debug("Interrupted while waiting for batches to be written");
+                    Thread.currentThread().interrupt();
+                    return;
+                }
             }
         }
     }
 
-    private Map<String, Deque<DynamoDBItem<?>>> readBuffer() {
-        Map<String, Deque<DynamoDBItem<?>>> batchesByTable = new HashMap<>(2);
-        // Get batch of data
-        while (!buffer.isEmpty()) {
-            DynamoDBItem<?> dynamoItem = buffer.poll();
-            if (dynamoItem == null) {
-                break;
+    private Future<?> submitBatch(DynamoDBMapper mapper, Deque<DynamoDBItem<?>> batch) {
+        ExecutorService writers = this.writers;
+        if (writers != null) {
+            try {
+                return writers.submit(() -> flushBatch(mapper, batch));
+            } catch (RejectedExecutionException e) {
+                logger.debug("Writer threads are shut down, writing batch on the calling thread");
             }
+        }
+        flushBatch(mapper, batch);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private Map<String, List<DynamoDBItem<?>>> readBuffer(BlockingQueue<DynamoDBItem<?>> buffer) {
+        List<DynamoDBItem<?>> items = new ArrayList<>(buffer.size());
+        buffer.drainTo(items);
+        Map<String, List<DynamoDBItem<?>>> itemsByTable = new HashMap<>(2);
+        for (DynamoDBItem<?> dynamoItem : items) {
             String tableName = tableNameResolver.fromItem(dynamoItem);
-            Deque<DynamoDBItem<?>> batch = batchesByTable.computeIfAbsent(tableName, new Function<>() {
-                @Override
-                public @Nullable Deque<DynamoDBItem<?>> apply(@Nullable String t) {
-                    return new ArrayDeque<>();
-                }
-            });
-            batch.add(dynamoItem);
+            itemsByTable.computeIfAbsent(tableName, t -> new ArrayList<>()).add(dynamoItem);
         }
-        return batchesByTable;
+        return itemsByTable;
     }
 
     /**
@@ -78,6 +78,8 @@ public class DynamoDBConfigTest {
         assertEquals(1, fromConfig.getWriteCapacityUnits());
         assertEquals(1000L, fromConfig.getBufferCommitIntervalMillis());
         assertEquals(1000, fromConfig.getBufferSize());
+        assertEquals(100, fromConfig.getBufferFlushSize());
+        assertEquals(4, fromConfig.getMaxConcurrentBatches());
     }
 
     @Test
@@ -218,4 +220,14 @@ public class DynamoDBConfigTest {
         assertEquals(501L, fromConfig.getBufferCommitIntervalMillis());
         assertEquals(112, fromConfig.getBufferSize());
     }
+
+    @Test
+    public void testRegionWithAccessKeysWithFlushSettings() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1",
+                "secretKey", "secret1", "bufferFlushSize", "50", "maxConcurrentBatches", "2"));
+        assertEquals(1000L, fromConfig.getBufferCommitIntervalMillis());
+        assertEquals(1000, fromConfig.getBufferSize());
+        assertEquals(50, fromConfig.getBufferFlushSize());
+        assertEquals(2, fromConfig.getMaxConcurrentBatches());
+    }
 }
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * {@link FilterCriteria} which additionally asks InfluxDB to downsample the values into time buckets, so only one
+ * {@link org.openhab.core.persistence.HistoricItem} per bucket is returned. Its time is the start of the bucket.
+ *
+ * The bucket width is either set directly or calculated from a point budget and the requested time range. Without a
+ * bucket width, or with a point budget but no begin date, the raw values are returned. {@link Aggregation#AVG},
+ * {@link Aggregation#MIN} and {@link Aggregation#MAX} need numeric values, {@link Aggregation#LAST} works for all
+ * items. Paging is applied to the downsampled values.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class AggregateFilterCriteria extends FilterCriteria {
+
+    public enum Aggregation {
+        AVG("mean"),
+        MIN("min"),
+        MAX("max"),
+        LAST("last");
+
+        private final String function;
+
+        Aggregation(String function) {
+            this.function = function;
+        }
+
+        /**
+         * @return Name of the selector/aggregate function, the same in InfluxQL and Flux
+         */
+        public String getFunction() {
+            return function;
+        }
+    }
+
+    private Aggregation aggregation = Aggregation.AVG;
+    private @Nullable Duration bucketSize;
+    private int maxPoints = 0;
+
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    public @Nullable Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
+    public AggregateFilterCriteria setAggregation(Aggregation aggregation) {
+        this.aggregation = aggregation;
+        return this;
+    }
+
+    /**
+     * Sets the width of the time buckets, rounded down to whole seconds (at least one second). Takes precedence over
+     * the point budget.
+     */
+    public AggregateFilterCriteria setBucketSize(@Nullable Duration bucketSize) {
+        this.bucketSize = bucketSize == null || bucketSize.getSeconds() >= 1 ? bucketSize : Duration.ofSeconds(1);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of values to return for the time range, 0 disables the point budget.
+     */
+    public AggregateFilterCriteria setMaxPoints(int maxPoints) {
+        this.maxPoints = Math.max(0, maxPoints);
+        return this;
+    }
+
+    /**
+     * Calculates the width of the time buckets in whole seconds
+     *
+     * @return Bucket width, null if the raw values should be returned
+     */
+    public @Nullable Duration calculateBucketSize() {
+        Duration size = bucketSize;
+        if (size != null) {
+            return Duration.ofSeconds(size.getSeconds());
+        }
+        ZonedDateTime begin = getBeginDate();
+        if (maxPoints <= 0 || begin == null) {
+            return null;
+        }
+        ZonedDateTime end = getEndDate();
+        long range = Duration.between(begin, end != null ? end : ZonedDateTime.now()).getSeconds();
+        return Duration.ofSeconds(Math.max(1, (range + maxPoints - 1) / maxPoints));
+    }
+}
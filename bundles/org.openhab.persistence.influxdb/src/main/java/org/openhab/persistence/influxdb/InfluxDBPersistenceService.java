@@ -15,6 +15,7 @@ package org.openhab.persistence.influxdb;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,6 +41,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteBuffer;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
 import org.openhab.persistence.influxdb.internal.ItemToStorePointCreator;
@@ -91,9 +93,11 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
     // Internal dependencies/state
     private InfluxDBConfiguration configuration = InfluxDBConfiguration.NO_CONFIGURATION;
 
-    // Relax rules because can only be null if component is not active
-    private @NonNullByDefault({}) ItemToStorePointCreator itemToStorePointCreator;
-    private @NonNullByDefault({}) InfluxDBRepository influxDBRepository;
+    // Relax rules because can only be null if component is not active, read once into a local variable where the
+    // component may be deactivated concurrently
+    private volatile @NonNullByDefault({}) ItemToStorePointCreator itemToStorePointCreator;
+    private volatile @NonNullByDefault({}) InfluxDBRepository influxDBRepository;
+    private volatile @NonNullByDefault({}) InfluxDBWriteBuffer writeBuffer;
 
     @Activate
     public InfluxDBPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -113,6 +117,8 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
             itemToStorePointCreator = new ItemToStorePointCreator(configuration, metadataRegistry);
             influxDBRepository = createInfluxDBRepository();
             influxDBRepository.connect();
+            writeBuffer = new InfluxDBWriteBuffer(influxDBRepository, configuration);
+            writeBuffer.start();
         } else {
             logger.error("Cannot load configuration, persistence service wont work");
         }
@@ -131,6 +137,11 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("InfluxDB persistence service deactivated");
+        final InfluxDBWriteBuffer currentWriteBuffer = writeBuffer;
+        if (currentWriteBuffer != null) {
+            writeBuffer = null;
+            currentWriteBuffer.stop();
+        }
         if (influxDBRepository != null) {
             influxDBRepository.disconnect();
             influxDBRepository = null;
@@ -202,11 +213,15 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        if (influxDBRepository != null && influxDBRepository.isConnected()) {
-            InfluxPoint point = itemToStorePointCreator.convert(item, alias);
+        final InfluxDBRepository currentRepository = influxDBRepository;
+        final ItemToStorePointCreator currentPointCreator = itemToStorePointCreator;
+        final InfluxDBWriteBuffer currentWriteBuffer = writeBuffer;
+        if (currentRepository != null && currentPointCreator != null && currentWriteBuffer != null
+                && currentRepository.isConnected()) {
+            InfluxPoint point = currentPointCreator.convert(item, alias);
             if (point != null) {
                 logger.trace("Storing item {} in InfluxDB point {}", item, point);
-                influxDBRepository.write(point);
+                currentWriteBuffer.add(point);
             } else {
                 logger.trace("Ignoring item {} as is cannot be converted to a InfluxDB point", item);
             }
@@ -228,8 +243,26 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
             String query = RepositoryFactory.createQueryCreator(configuration, metadataRegistry).createQuery(filter,
                     configuration.getRetentionPolicy());
             logger.trace("Query {}", query);
-            List<InfluxRow> results = influxDBRepository.query(query);
-            return results.stream().map(this::mapRow2HistoricItem).collect(Collectors.toList());
+            final InfluxDBRepository currentRepository = influxDBRepository;
+            if (configuration.getQueryFetchSize() <= 0) {
+                List<InfluxRow> results = currentRepository.query(query);
+                return results.stream().map(this::mapRow2HistoricItem).collect(Collectors.toList());
+            }
+            // if enabled, rows are fetched and converted while iterating
+            return () -> {
+                Iterator<InfluxRow> rows = currentRepository.queryStream(query);
+                return new Iterator<HistoricItem>() {
+                    @Override
+                    public boolean hasNext() {
+                        return rows.hasNext();
+                    }
+
+                    @Override
+                    public HistoricItem next() {
+                        return mapRow2HistoricItem(rows.next());
+                    }
+                };
+            };
         } else {
             logger.debug("query ignored, InfluxDB is not yet connected");
             return Collections.emptyList();
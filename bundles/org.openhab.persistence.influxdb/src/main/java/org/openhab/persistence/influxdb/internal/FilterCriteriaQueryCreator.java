@@ -12,8 +12,12 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.AggregateFilterCriteria;
 
 /**
  * Creates InfluxDB query sentence given a OpenHab persistence {@link FilterCriteria}
@@ -31,6 +35,17 @@ public interface FilterCriteriaQueryCreator {
      */
     String createQuery(FilterCriteria criteria, String retentionPolicy);
 
+    /**
+     * Get the width of the time buckets the values should be downsampled to
+     *
+     * @param criteria Criteria to create query from
+     * @return Bucket width in whole seconds, null if the raw values are requested
+     */
+    default @Nullable Duration getBucketSize(FilterCriteria criteria) {
+        return criteria instanceof AggregateFilterCriteria ? ((AggregateFilterCriteria) criteria).calculateBucketSize()
+                : null;
+    }
+
     default String getOperationSymbol(FilterCriteria.Operator operator, InfluxDBVersion version) {
         switch (operator) {
             case EQ:
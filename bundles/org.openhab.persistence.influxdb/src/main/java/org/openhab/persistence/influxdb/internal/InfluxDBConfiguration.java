@@ -39,6 +39,11 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUERY_FETCH_SIZE_PARAM = "queryFetchSize";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String FLUSH_INTERVAL_PARAM = "flushInterval";
+    public static final String MAX_BUFFER_SIZE_PARAM = "maxBufferSize";
+    public static final String RETRY_INTERVAL_PARAM = "retryInterval";
     public static InfluxDBConfiguration NO_CONFIGURATION = new InfluxDBConfiguration(Collections.emptyMap());
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
@@ -53,6 +58,11 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queryFetchSize;
+    private final int batchSize;
+    private final int flushInterval;
+    private final int maxBufferSize;
+    private final int retryInterval;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = (String) config.getOrDefault(URL_PARAM, "http://127.0.0.1:8086");
@@ -67,6 +77,11 @@ public class InfluxDBConfiguration {
         addCategoryTag = getConfigBooleanValue(config, ADD_CATEGORY_TAG_PARAM, false);
         addLabelTag = getConfigBooleanValue(config, ADD_LABEL_TAG_PARAM, false);
         addTypeTag = getConfigBooleanValue(config, ADD_TYPE_TAG_PARAM, false);
+        queryFetchSize = getConfigIntValue(config, QUERY_FETCH_SIZE_PARAM, 0);
+        batchSize = getConfigIntValue(config, BATCH_SIZE_PARAM, 1000);
+        flushInterval = getConfigIntValue(config, FLUSH_INTERVAL_PARAM, 1000);
+        maxBufferSize = getConfigIntValue(config, MAX_BUFFER_SIZE_PARAM, 100000);
+        retryInterval = getConfigIntValue(config, RETRY_INTERVAL_PARAM, 1000);
     }
 
     private static boolean getConfigBooleanValue(Map<String, Object> config, String key, boolean defaultValue) {
@@ -80,6 +95,20 @@ public class InfluxDBConfiguration {
         }
     }
 
+    private int getConfigIntValue(Map<String, Object> config, String key, int defaultValue) {
+        Object object = config.get(key);
+        if (object instanceof Number) {
+            return ((Number) object).intValue();
+        } else if (object instanceof String) {
+            try {
+                return Integer.parseInt((String) object);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value {} for {}", object, key);
+            }
+        }
+        return defaultValue;
+    }
+
     private InfluxDBVersion parseInfluxVersion(@Nullable Object value) {
         try {
             return InfluxDBVersion.valueOf((String) value);
@@ -156,6 +185,26 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    public int getRetryInterval() {
+        return retryInterval;
+    }
+
     public String getUser() {
         return user;
     }
@@ -174,7 +223,9 @@ public class InfluxDBConfiguration {
                 + password.length() + " chars" + '\'' + ", token='" + token.length() + " chars" + '\''
                 + ", databaseName='" + databaseName + '\'' + ", retentionPolicy='" + retentionPolicy + '\''
                 + ", version=" + version + ", replaceUnderscore=" + replaceUnderscore + ", addCategoryTag="
-                + addCategoryTag + ", addTypeTag=" + addTypeTag + ", addLabelTag=" + addLabelTag + '}';
+                + addCategoryTag + ", addTypeTag=" + addTypeTag + ", addLabelTag=" + addLabelTag + ", queryFetchSize="
+                + queryFetchSize + ", batchSize=" + batchSize + ", flushInterval=" + flushInterval + ", maxBufferSize="
+                + maxBufferSize + ", retryInterval=" + retryInterval + '}';
         return sb;
     }
 
@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -66,9 +67,21 @@ public interface InfluxDBRepository {
     List<InfluxRow> query(String query);
 
     /**
-     * Write point to database
+     * Executes query and streams the results as they are received from the server
      *
-     * @param influxPoint Point to write
+     * At most 'queryFetchSize' rows are buffered, the query is cancelled when the iterator is exhausted, abandoned or
+     * the rows are not read in time. A failed query throws from the iterator.
+     *
+     * @param query Query
+     * @return Query results
+     */
+    Iterator<InfluxRow> queryStream(String query);
+
+    /**
+     * Write points to database in one request
+     *
+     * @param influxPoints Points to write
+     * @throws RuntimeException if the points could not be written
      */
-    void write(InfluxPoint influxPoint);
+    void write(List<InfluxPoint> influxPoints);
 }
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers points and writes them in batches from a background thread, so storing never waits for the server
+ *
+ * A batch is written as soon as 'batchSize' points are pending or every 'flushInterval' milliseconds. Failed batches
+ * stay in the buffer and are retried with exponential backoff and jitter. While the server is down at most
+ * 'maxBufferSize' points are kept, the oldest points are dropped first. Points added after {@link #stop()} are
+ * dropped as well.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteBuffer {
+    private static final String THREAD_NAME = "influxdbPersistenceWriter";
+    private static final long MAX_RETRY_DELAY_MS = 60000;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBWriteBuffer.class);
+
+    private final InfluxDBRepository repository;
+    private final int batchSize;
+    private final int flushInterval;
+    private final int maxBufferSize;
+    private final int retryInterval;
+
+    // guarded by itself, as is 'stopped'
+    private final Deque<InfluxPoint> buffer = new ArrayDeque<>();
+    private boolean stopped = false;
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory(THREAD_NAME));
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // retry state, updated by the writer thread
+    private volatile int failedAttempts = 0;
+    private volatile long nextAttempt = 0;
+
+    private final AtomicLong writtenPoints = new AtomicLong();
+    private final AtomicLong retriedPoints = new AtomicLong();
+    private final AtomicLong droppedPoints = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    public InfluxDBWriteBuffer(InfluxDBRepository repository, InfluxDBConfiguration configuration) {
+        this.repository = repository;
+        this.batchSize = Math.max(1, configuration.getBatchSize());
+        this.flushInterval = Math.max(10, configuration.getFlushInterval());
+        this.maxBufferSize = Math.max(batchSize, configuration.getMaxBufferSize());
+        this.retryInterval = Math.max(10, configuration.getRetryInterval());
+    }
+
+    public void start() {
+        logger.debug("Starting write buffer: batchSize={} flushInterval={} ms maxBufferSize={}", batchSize,
+                flushInterval, maxBufferSize);
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the writer thread and tries once to write the pending points
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(flushInterval + 5000L, TimeUnit.MILLISECONDS)) {
+                logger.warn("Write buffer thread did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        nextAttempt = 0;
+        flush();
+        int lost;
+        synchronized (buffer) {
+            stopped = true;
+            lost = buffer.size();
+            buffer.clear();
+        }
+        droppedPoints.addAndGet(lost);
+        logger.debug("Write buffer stopped: written={} retried={} dropped={} failedBatches={}", writtenPoints.get(),
+                retriedPoints.get(), droppedPoints.get(), failedBatches.get());
+        if (lost > 0) {
+            logger.warn("{} points could not be written to InfluxDB before shutdown", lost);
+        }
+    }
+
+    /**
+     * Adds a point to the buffer, never blocks
+     *
+     * @param point Point to write
+     */
+    public void add(InfluxPoint point) {
+        int size;
+        synchronized (buffer) {
+            if (stopped) {
+                droppedPoints.incrementAndGet();
+                return;
+            }
+            if (buffer.size() >= maxBufferSize) {
+                buffer.pollFirst();
+                droppedPoints.incrementAndGet();
+            }
+            buffer.addLast(point);
+            size = buffer.size();
+        }
+        if (size >= batchSize && failedAttempts == 0) {
+            requestFlush();
+        }
+    }
+
+    private void requestFlush() {
+        if (!scheduler.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    private synchronized void flush() {
+        flushRequested.set(false);
+        if (System.currentTimeMillis() < nextAttempt) {
+            return;
+        }
+        List<InfluxPoint> batch;
+        while (!(batch = takeBatch()).isEmpty()) {
+            try {
+                repository.write(batch);
+                writtenPoints.addAndGet(batch.size());
+                failedAttempts = 0;
+                nextAttempt = 0;
+            } catch (RuntimeException e) {
+                returnBatch(batch);
+                failedAttempts++;
+                long delay = retryDelay(failedAttempts);
+                nextAttempt = System.currentTimeMillis() + delay;
+                retriedPoints.addAndGet(batch.size());
+                failedBatches.incrementAndGet();
+                logger.warn("Writing {} points failed, retrying in {} ms: {}", batch.size(), delay, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private List<InfluxPoint> takeBatch() {
+        synchronized (buffer) {
+            List<InfluxPoint> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+            while (batch.size() < batchSize && !buffer.isEmpty()) {
+                batch.add(buffer.pollFirst());
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * Puts a failed batch back to the head of the buffer, dropping the oldest points if the buffer is full
+     */
+    private void returnBatch(List<InfluxPoint> batch) {
+        synchronized (buffer) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                if (buffer.size() >= maxBufferSize) {
+                    droppedPoints.addAndGet(i + 1);
+                    break;
+                }
+                buffer.addFirst(batch.get(i));
+            }
+        }
+    }
+
+    private long retryDelay(int attempts) {
+        long delay = Math.min(MAX_RETRY_DELAY_MS, (long) retryInterval << Math.min(attempts - 1, 16));
+        // spread the retries of several instances after a server restart
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    public int getBufferSize() {
+        synchronized (buffer) {
+            return buffer.size();
+        }
+    }
+
+    public long getWrittenPoints() {
+        return writtenPoints.get();
+    }
+
+    public long getRetriedPoints() {
+        return retriedPoints.get();
+    }
+
+    public long getDroppedPoints() {
+        return droppedPoints.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+}
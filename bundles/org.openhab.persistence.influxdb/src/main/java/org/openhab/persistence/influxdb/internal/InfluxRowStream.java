@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.lang.ref.Cleaner;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands over the rows of an asynchronous streaming query to the reading thread
+ *
+ * The client callbacks write to the {@link Sink} and block while its buffer is full, so the server is read only as
+ * fast as the rows are consumed. The query is cancelled as soon as the stream is closed, which happens when the last
+ * row has been read, the query failed, no rows have been received in time or the stream has been garbage collected
+ * before it was read completely. Rows which are not read in time cancel the query as well.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxRowStream implements Iterator<InfluxRow>, AutoCloseable {
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final InfluxRow END = new InfluxRow(Instant.EPOCH, "", "");
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxRowStream.class);
+    private final Sink sink;
+    private final Cleaner.Cleanable cleanable;
+    private @Nullable InfluxRow next;
+    private boolean ended = false;
+
+    public InfluxRowStream(int fetchSize) {
+        sink = new Sink(fetchSize);
+        cleanable = CLEANER.register(this, sink::cancel);
+    }
+
+    /**
+     * Receives the rows of the query, must be used by the client callbacks instead of the stream so the stream can be
+     * garbage collected while the query is running
+     */
+    public Sink getSink() {
+        return sink;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !ended) {
+            try {
+                InfluxRow row = sink.queue.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (row == null) {
+                    logger.warn("No query results received for {} s, giving up", TIMEOUT_SECONDS);
+                    close();
+                } else if (row == END) {
+                    close();
+                    Throwable failure = sink.failure;
+                    if (failure != null) {
+                        throw new IllegalStateException("InfluxDB query failed: " + failure.getMessage(), failure);
+                    }
+                } else {
+                    next = row;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public InfluxRow next() {
+        hasNext();
+        InfluxRow row = next;
+        if (row == null) {
+            throw new NoSuchElementException();
+        }
+        next = null;
+        return row;
+    }
+
+    /**
+     * Stops reading, a running query is cancelled with the next received row
+     */
+    @Override
+    public void close() {
+        ended = true;
+        cleanable.clean();
+    }
+
+    /**
+     * Producer side of the stream, must not reference the stream
+     */
+    public static class Sink {
+        private final Logger logger = LoggerFactory.getLogger(Sink.class);
+        private final BlockingQueue<InfluxRow> queue;
+        private volatile boolean cancelled = false;
+        private volatile @Nullable Throwable failure;
+
+        private Sink(int fetchSize) {
+            queue = new ArrayBlockingQueue<>(Math.max(1, fetchSize));
+        }
+
+        /**
+         * Adds a row received from the server, waiting while the buffer is full
+         *
+         * @param row Received row
+         * @return False if the rows are no longer read and the query should be cancelled
+         */
+        public boolean offer(InfluxRow row) {
+            try {
+                // wait in short steps to notice a closed stream early
+                for (long waited = 0; !cancelled && waited < TIMEOUT_SECONDS; waited++) {
+                    if (queue.offer(row, 1, TimeUnit.SECONDS)) {
+                        return true;
+                    }
+                }
+                if (!cancelled) {
+                    logger.debug("Query results have not been read for {} s, cancelling query", TIMEOUT_SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cancel();
+            return false;
+        }
+
+        /**
+         * Marks the end of the results
+         */
+        public void complete() {
+            if (!offer(END)) {
+                logger.trace("End of query results has been dropped");
+            }
+        }
+
+        /**
+         * Marks the end of the results after the query failed, the reader gets the failure
+         *
+         * @param t Cause of the failure
+         */
+        public void fail(Throwable t) {
+            logger.warn("Query failed: {}", t.getMessage());
+            failure = t;
+            complete();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+}
@@ -16,16 +16,21 @@ import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.dto.Query;
 import org.influxdb.querybuilder.Appender;
 import org.influxdb.querybuilder.BuiltQuery;
 import org.influxdb.querybuilder.Select;
+import org.influxdb.querybuilder.SelectionQueryImpl;
 import org.influxdb.querybuilder.Where;
 import org.influxdb.querybuilder.clauses.SimpleClause;
+import org.influxdb.querybuilder.time.DurationLiteral;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.AggregateFilterCriteria;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataUtils;
@@ -56,9 +61,17 @@ public class Influx1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
 
         tableName = calculateTableName(itemName);
 
-        Select select = select().column("\"" + COLUMN_VALUE_NAME_V1 + "\"::field")
-                .column("\"" + TAG_ITEM_NAME + "\"::tag")
-                .fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
+        Duration bucketSize = getBucketSize(criteria);
+        SelectionQueryImpl selection;
+        if (bucketSize != null) {
+            String function = ((AggregateFilterCriteria) criteria).getAggregation().getFunction();
+            selection = select()
+                    .raw(function + "(\"" + COLUMN_VALUE_NAME_V1 + "\") AS \"" + COLUMN_VALUE_NAME_V1 + "\"");
+        } else {
+            selection = select().column("\"" + COLUMN_VALUE_NAME_V1 + "\"::field")
+                    .column("\"" + TAG_ITEM_NAME + "\"::tag");
+        }
+        Select select = selection.fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
 
         Where where = select.where();
 
@@ -81,6 +94,12 @@ public class Influx1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
                     stateToObject(criteria.getState())));
         }
 
+        if (bucketSize != null) {
+            // the item name is returned as series tag, empty buckets are skipped
+            select = select.groupBy(time(bucketSize.getSeconds(), DurationLiteral.SECOND), TAG_ITEM_NAME)
+                    .fill("none");
+        }
+
         if (criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
             select = select.orderBy(desc());
         } else if (criteria.getOrdering() == FilterCriteria.Ordering.ASCENDING) {
@@ -20,6 +20,7 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_IT
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +29,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBFactory;
+import org.influxdb.dto.BatchPoints;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
@@ -36,6 +38,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
+import org.openhab.persistence.influxdb.internal.InfluxRowStream;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,7 +73,6 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                 configuration.getPassword());
         createdClient.setDatabase(configuration.getDatabaseName());
         createdClient.setRetentionPolicy(configuration.getRetentionPolicy());
-        createdClient.enableBatch(200, 100, TimeUnit.MILLISECONDS);
         this.client = createdClient;
         return checkConnectionStatus();
     }
@@ -113,13 +115,15 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public void write(InfluxPoint point) {
+    public void write(List<InfluxPoint> points) {
         final InfluxDB currentClient = this.client;
         if (currentClient != null) {
-            Point clientPoint = convertPointToClientFormat(point);
-            currentClient.write(configuration.getDatabaseName(), configuration.getRetentionPolicy(), clientPoint);
+            BatchPoints batchPoints = BatchPoints.database(configuration.getDatabaseName())
+                    .retentionPolicy(configuration.getRetentionPolicy()).build();
+            points.forEach(point -> batchPoints.point(convertPointToClientFormat(point)));
+            currentClient.write(batchPoints);
         } else {
-            logger.warn("Write point {} ignored due to client isn't connected", point);
+            throw new IllegalStateException("client isn't connected");
         }
     }
 
@@ -158,6 +162,36 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         }
     }
 
+    @Override
+    public Iterator<InfluxRow> queryStream(String query) {
+        final InfluxDB currentClient = client;
+        if (currentClient != null) {
+            InfluxRowStream stream = new InfluxRowStream(configuration.getQueryFetchSize());
+            InfluxRowStream.Sink sink = stream.getSink();
+            Query parsedQuery = new Query(query, configuration.getDatabaseName());
+            currentClient.query(parsedQuery, configuration.getQueryFetchSize(), (cancellable, queryResult) -> {
+                if (queryResult.getError() != null) {
+                    cancellable.cancel();
+                    sink.fail(new IllegalStateException(queryResult.getError()));
+                    return;
+                }
+                List<QueryResult.Result> results = queryResult.getResults();
+                if (results != null) {
+                    for (InfluxRow row : convertClientResutToRepository(results)) {
+                        if (!sink.offer(row)) {
+                            cancellable.cancel();
+                            return;
+                        }
+                    }
+                }
+            }, sink::complete, sink::fail);
+            return stream;
+        } else {
+            logger.warn("Returning empty result because queryAPI isn't present");
+            return Collections.emptyIterator();
+        }
+    }
+
     private List<InfluxRow> convertClientResutToRepository(List<QueryResult.Result> results) {
         List<InfluxRow> rows = new ArrayList<>();
         for (QueryResult.Result result : results) {
@@ -172,6 +206,12 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                 for (QueryResult.Series series : seriess) {
                     logger.trace("series {}", series.toString());
                     String itemName = series.getName();
+                    // downsampled queries are grouped by the item tag
+                    Map<String, String> tags = series.getTags();
+                    String itemTag = tags != null ? tags.get(TAG_ITEM_NAME) : null;
+                    if (itemTag != null && !itemTag.isEmpty()) {
+                        itemName = itemTag;
+                    }
                     List<List<Object>> valuess = series.getValues();
                     if (valuess == null) {
                         logger.debug("query returned no values");
@@ -196,8 +236,10 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (int i = 0; i < valuess.size(); i++) {
-                                Double rawTime = (Double) valuess.get(i).get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                // chunked queries return the time as RFC3339 string
+                                Object rawTime = valuess.get(i).get(timestampColumn);
+                                Instant time = rawTime instanceof String ? Instant.parse((String) rawTime)
+                                        : Instant.ofEpochMilli(((Number) rawTime).longValue());
                                 Object value = valuess.get(i).get(valueColumn);
                                 if (itemNameColumn != null) {
                                     itemName = (String) valuess.get(i).get(itemNameColumn);
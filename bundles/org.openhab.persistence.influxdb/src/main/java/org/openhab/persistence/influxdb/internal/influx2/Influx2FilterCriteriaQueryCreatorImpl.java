@@ -17,11 +17,13 @@ import static com.influxdb.query.dsl.functions.restriction.Restrictions.tag;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.AggregateFilterCriteria;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataUtils;
@@ -79,6 +81,15 @@ public class Influx2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
             flux = flux.filter(restrictions);
         }
 
+        Duration bucketSize = getBucketSize(criteria);
+        if (bucketSize != null) {
+            String function = ((AggregateFilterCriteria) criteria).getAggregation().getFunction();
+            // the time of a bucket is its start, as with GROUP BY time() in InfluxQL
+            flux = flux.expression(String.format(
+                    "aggregateWindow(every:%ds, fn:%s, createEmpty:false, timeSrc:\"%s\")",
+                    bucketSize.getSeconds(), function, COLUMN_START_NAME_V2));
+        }
+
         if (criteria.getOrdering() != null) {
             boolean desc = criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING;
             flux = flux.sort().withDesc(desc).withColumns(new String[] { COLUMN_TIME_NAME_V2 });
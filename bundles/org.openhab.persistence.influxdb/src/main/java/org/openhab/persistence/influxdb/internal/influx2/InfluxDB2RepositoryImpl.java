@@ -16,6 +16,7 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
+import org.openhab.persistence.influxdb.internal.InfluxRowStream;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,10 +39,11 @@ import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.QueryApi;
-import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteApiBlocking;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -57,7 +60,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     @Nullable
     private QueryApi queryAPI;
     @Nullable
-    private WriteApi writeAPI;
+    private WriteApiBlocking writeAPI;
 
     public InfluxDB2RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
@@ -94,7 +97,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         this.client = createdClient;
         logger.debug("Succesfully connected to InfluxDB. Instance ready={}", createdClient.ready());
         queryAPI = createdClient.getQueryApi();
-        writeAPI = createdClient.getWriteApi();
+        writeAPI = createdClient.getWriteApiBlocking();
         return checkConnectionStatus();
     }
 
@@ -134,17 +137,18 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     /**
-     * Write point to database
+     * Write points to database in one request
      *
-     * @param point
+     * @param points Points to write
      */
     @Override
-    public void write(InfluxPoint point) {
-        final WriteApi currentWriteAPI = writeAPI;
+    public void write(List<InfluxPoint> points) {
+        final WriteApiBlocking currentWriteAPI = writeAPI;
         if (currentWriteAPI != null) {
-            currentWriteAPI.writePoint(convertPointToClientFormat(point));
+            currentWriteAPI
+                    .writePoints(points.stream().map(this::convertPointToClientFormat).collect(Collectors.toList()));
         } else {
-            logger.warn("Write point {} ignored due to writeAPI isn't present", point);
+            throw new IllegalStateException("writeAPI isn't present");
         }
     }
 
@@ -192,12 +196,38 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+        return rawRow.getRecords().stream().map(this::mapRecordToRow);
+    }
+
+    private InfluxRow mapRecordToRow(FluxRecord record) {
+        String itemName = (String) record.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+        Object value = record.getValueByKey(COLUMN_VALUE_NAME_V2);
+        Instant time = (Instant) record.getValueByKey(COLUMN_TIME_NAME_V2);
+        return new InfluxRow(time, itemName, value);
+    }
+
+    /**
+     * Executes Flux query and streams the records as they are received
+     *
+     * @param query Query
+     * @return Query results
+     */
+    @Override
+    public Iterator<InfluxRow> queryStream(String query) {
+        final QueryApi currentQueryAPI = queryAPI;
+        if (currentQueryAPI != null) {
+            InfluxRowStream stream = new InfluxRowStream(configuration.getQueryFetchSize());
+            InfluxRowStream.Sink sink = stream.getSink();
+            currentQueryAPI.query(query, (cancellable, record) -> {
+                if (!sink.offer(mapRecordToRow(record))) {
+                    cancellable.cancel();
+                }
+            }, sink::fail, sink::complete);
+            return stream;
+        } else {
+            logger.warn("Returning empty result because queryAPI isn't present");
+            return Collections.emptyIterator();
+        }
     }
 
     /**
@@ -12,7 +12,7 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 import java.util.Map;
@@ -93,7 +93,7 @@ public class InfluxDBPersistenceServiceTest {
         instance.activate(validConfig);
         when(influxDBRepository.isConnected()).thenReturn(true);
         instance.store(ItemTestHelper.createNumberItem("number", 5));
-        verify(influxDBRepository).write(any());
+        verify(influxDBRepository, timeout(5000)).write(anyList());
     }
 
     @Test
@@ -101,6 +101,7 @@ public class InfluxDBPersistenceServiceTest {
         instance.activate(validConfig);
         when(influxDBRepository.isConnected()).thenReturn(false);
         instance.store(ItemTestHelper.createNumberItem("number", 5));
-        verify(influxDBRepository, never()).write(any());
+        instance.deactivate();
+        verify(influxDBRepository, never()).write(anyList());
     }
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault(value = { DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class InfluxDBWriteBufferTest extends JavaTest {
+    private @Mock InfluxDBRepository influxDBRepository;
+    private @Captor ArgumentCaptor<List<InfluxPoint>> captor;
+
+    private InfluxDBWriteBuffer instance;
+
+    @AfterEach
+    public void after() {
+        if (instance != null) {
+            instance.stop();
+        }
+        instance = null;
+    }
+
+    @Test
+    public void fullBatchIsWrittenBeforeFlushInterval() {
+        instance = createBuffer(3, 60000, 100, 10);
+        instance.start();
+        for (int i = 0; i < 3; i++) {
+            instance.add(createPoint(i));
+        }
+
+        verify(influxDBRepository, timeout(5000)).write(argThat(points -> points.size() == 3));
+        assertThat(instance.getBufferSize(), is(0));
+    }
+
+    @Test
+    public void failedBatchIsRetriedInOrder() {
+        doThrow(new IllegalStateException("server down")).doNothing().when(influxDBRepository).write(anyList());
+
+        instance = createBuffer(2, 20, 100, 10);
+        instance.start();
+        instance.add(createPoint(0));
+        instance.add(createPoint(1));
+
+        verify(influxDBRepository, timeout(5000).times(2)).write(captor.capture());
+        for (List<InfluxPoint> points : captor.getAllValues()) {
+            assertThat(points.stream().map(InfluxPoint::getValue).collect(Collectors.toList()), contains(0, 1));
+        }
+        assertThat(instance.getRetriedPoints(), is(2L));
+        assertThat(instance.getDroppedPoints(), is(0L));
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWhenBufferIsFull() {
+        doThrow(new IllegalStateException("server down")).doNothing().when(influxDBRepository).write(anyList());
+
+        instance = createBuffer(2, 60000, 2, 60000);
+        instance.start();
+        instance.add(createPoint(0));
+        instance.add(createPoint(1));
+        waitForAssert(() -> assertThat(instance.getFailedBatches(), is(1L)));
+        instance.add(createPoint(2));
+
+        assertThat(instance.getBufferSize(), is(2));
+        assertThat(instance.getDroppedPoints(), is(1L));
+
+        // pending points are written on stop
+        InfluxDBWriteBuffer stopped = instance;
+        instance = null;
+        stopped.stop();
+
+        verify(influxDBRepository, times(2)).write(captor.capture());
+        assertThat(captor.getValue().stream().map(InfluxPoint::getValue).collect(Collectors.toList()), contains(1, 2));
+    }
+
+    @Test
+    public void pointsAddedAfterStopAreDropped() {
+        instance = createBuffer(2, 60000, 100, 10);
+        instance.start();
+        InfluxDBWriteBuffer stopped = instance;
+        instance = null;
+        stopped.stop();
+        stopped.add(createPoint(0));
+
+        assertThat(stopped.getBufferSize(), is(0));
+        assertThat(stopped.getDroppedPoints(), is(1L));
+        verify(influxDBRepository, never()).write(anyList());
+    }
+
+    private InfluxDBWriteBuffer createBuffer(int batchSize, int flushInterval, int maxBufferSize,
+            int retryInterval) {
+        Map<String, Object> config = ConfigurationTestHelper.createValidConfigurationParameters();
+        config.put(BATCH_SIZE_PARAM, batchSize);
+        config.put(FLUSH_INTERVAL_PARAM, flushInterval);
+        config.put(MAX_BUFFER_SIZE_PARAM, maxBufferSize);
+        config.put(RETRY_INTERVAL_PARAM, retryInterval);
+        return new InfluxDBWriteBuffer(influxDBRepository, new InfluxDBConfiguration(config));
+    }
+
+    private InfluxPoint createPoint(int value) {
+        return InfluxPoint.newBuilder("test").withTime(Instant.now()).withValue(value).build();
+    }
+}
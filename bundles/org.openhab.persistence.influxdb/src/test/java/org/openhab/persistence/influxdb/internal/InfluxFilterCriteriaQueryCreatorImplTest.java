@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -35,6 +36,7 @@ import org.openhab.core.items.MetadataKey;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.library.types.PercentType;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.AggregateFilterCriteria;
 import org.openhab.persistence.influxdb.InfluxDBPersistenceService;
 import org.openhab.persistence.influxdb.internal.influx1.Influx1FilterCriteriaQueryCreatorImpl;
 import org.openhab.persistence.influxdb.internal.influx2.Influx2FilterCriteriaQueryCreatorImpl;
@@ -162,6 +164,61 @@ public class InfluxFilterCriteriaQueryCreatorImplTest {
                         + "|> sort(desc:false, columns:[\"_time\"])"));
     }
 
+    @Test
+    public void testDownsampledByBucketSize() {
+        AggregateFilterCriteria criteria = new AggregateFilterCriteria()
+                .setAggregation(AggregateFilterCriteria.Aggregation.MAX).setBucketSize(Duration.ofMinutes(5));
+        criteria.setItemName(ITEM_NAME);
+        criteria.setOrdering(null);
+
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY);
+        assertThat(queryV1, equalTo(
+                "SELECT max(\"value\") AS \"value\" FROM origin.sampleItem GROUP BY time(300s),item fill(none);"));
+
+        String queryV2 = instanceV2.createQuery(criteria, RETENTION_POLICY);
+        assertThat(queryV2,
+                equalTo("from(bucket:\"origin\")\n\t" + "|> range(start:-100y)\n\t"
+                        + "|> filter(fn: (r) => r[\"_measurement\"] == \"sampleItem\")\n\t"
+                        + "|> aggregateWindow(every:300s, fn:max, createEmpty:false, timeSrc:\"_start\")"));
+    }
+
+    @Test
+    public void testDownsampledByPointBudget() {
+        AggregateFilterCriteria criteria = new AggregateFilterCriteria().setMaxPoints(100);
+        criteria.setItemName(ITEM_NAME);
+        criteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime tomorrow = now.plus(1, ChronoUnit.DAYS);
+        criteria.setBeginDate(now);
+        criteria.setEndDate(tomorrow);
+
+        // 86400 seconds in 100 buckets
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY);
+        String expectedQueryV1 = String.format(
+                "SELECT mean(\"value\") AS \"value\" FROM origin.sampleItem WHERE time >= '%s' AND time <= '%s' "
+                        + "GROUP BY time(864s),item fill(none) ORDER BY time ASC;",
+                now.toInstant(), tomorrow.toInstant());
+        assertThat(queryV1, equalTo(expectedQueryV1));
+
+        String queryV2 = instanceV2.createQuery(criteria, RETENTION_POLICY);
+        String expectedQueryV2 = String.format("from(bucket:\"origin\")\n\t" + "|> range(start:%s, stop:%s)\n\t"
+                + "|> filter(fn: (r) => r[\"_measurement\"] == \"sampleItem\")\n\t"
+                + "|> aggregateWindow(every:864s, fn:mean, createEmpty:false, timeSrc:\"_start\")\n\t"
+                + "|> sort(desc:false, columns:[\"_time\"])", INFLUX2_DATE_FORMATTER.format(now.toInstant()),
+                INFLUX2_DATE_FORMATTER.format(tomorrow.toInstant()));
+        assertThat(queryV2, equalTo(expectedQueryV2));
+    }
+
+    @Test
+    public void testPointBudgetWithoutBeginDateReturnsRawValues() {
+        AggregateFilterCriteria criteria = new AggregateFilterCriteria().setMaxPoints(100);
+        criteria.setItemName(ITEM_NAME);
+        criteria.setOrdering(null);
+
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY);
+        assertThat(queryV1, equalTo("SELECT \"value\"::field,\"item\"::tag FROM origin.sampleItem;"));
+    }
+
     private FilterCriteria createBaseCriteria() {
         return createBaseCriteria(ITEM_NAME);
     }
@@ -18,6 +18,8 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,13 +51,18 @@ import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.model.AggregateFilterCriteria;
+import org.openhab.persistence.jdbc.model.AggregateFilterCriteria.Aggregation;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
 import org.openhab.persistence.jdbc.model.JdbcHistoricItem;
 import org.openhab.persistence.jdbc.utils.DbMetaData;
+import org.openhab.persistence.jdbc.utils.SqlStatementCache;
+import org.openhab.persistence.jdbc.utils.SqlStatementCache.Operation;
 import org.openhab.persistence.jdbc.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +82,9 @@ public class JdbcBaseDAO {
     // Get Database Meta data
     protected DbMetaData dbMeta;
 
+    // Formatted per-table statements of the store path
+    protected final SqlStatementCache sqlStatementCache = new SqlStatementCache();
+
     protected String sqlPingDB;
     protected String sqlGetDB;
     protected String sqlIfTableExists;
@@ -327,14 +337,58 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, ItemVO vo) {
         ItemVO storedVO = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
+        String sql = sqlStatementCache.get(Operation.INSERT_ITEM_VALUE, storedVO.getTableName(),
+                tableName -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#tablePrimaryValue#" },
+                        new String[] { tableName, sqlTypes.get("tablePrimaryValue") }));
         Object[] params = new Object[] { storedVO.getValue(), storedVO.getValue() };
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         Yank.execute(sql, params);
     }
 
+    /**
+     * Converts the current state of the item into a value object which can be written later on by
+     * {@link #doStoreItemValues(List)}. The time of the value is taken at the moment of this call.
+     */
+    public ItemVO doPrepareItemValue(Item item, ItemVO vo) {
+        ItemVO storedVO = storeItemValueProvider(item, vo);
+        storedVO.setTime(new Date());
+        return storedVO;
+    }
+
+    /**
+     * Writes prepared values of a single item table as one JDBC batch. Opposite to
+     * {@link #doStoreItemValue(Item, ItemVO)} the time column is bound from {@link ItemVO#getTime()} instead of
+     * using 'tablePrimaryValue', so queued values keep the time they were captured at.
+     */
+    public void doStoreItemValues(List<ItemVO> vol) {
+        ItemVO firstVO = vol.get(0);
+        String sql = sqlStatementCache.get(Operation.INSERT_ITEM_VALUES, firstVO.getTableName(),
+                tableName -> sqlInsertItemValues(tableName, firstVO));
+        // the time is bound to the first placeholder and the value to all others, e.g. ON DUPLICATE KEY UPDATE
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[][] params = new Object[vol.size()][];
+        for (int i = 0; i < vol.size(); i++) {
+            ItemVO vo = vol.get(i);
+            Object[] voParams = new Object[placeholders];
+            voParams[0] = batchPrimaryValue(vo);
+            Arrays.fill(voParams, 1, placeholders, vo.getValue());
+            params[i] = voParams;
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} count={}", sql, vol.size());
+        Yank.executeBatch(sql, params);
+    }
+
+    /**
+     * Fills in the insert statement of the dialect for the batched values of a table, with
+     * {@link #sqlBatchPrimaryValue()} in place of 'tablePrimaryValue'.
+     */
+    protected String sqlInsertItemValues(String tableName, ItemVO vo) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { tableName, sqlBatchPrimaryValue() });
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -347,6 +401,19 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    public List<HistoricItem> doGetHistItemAggregateQuery(Item item, AggregateFilterCriteria filter, String table,
+            ZoneId timeZone) {
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem ? ((NumberItem) item).getUnit() : null;
+        String sql = histItemAggregateQueryProvider(filter, table, getItemType(item), unit, timeZone);
+        logger.debug("JDBC::doGetHistItemAggregateQuery sql={}", sql);
+        List<Object[]> m = Yank.queryObjectArrays(sql, null);
+        return m.stream()
+                .map(o -> new JdbcHistoricItem(itemName, getState(item, unit, o[1]), objectAsDate(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
     /*************
      * Providers *
      *************/
@@ -385,6 +452,106 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Builds a query returning one row per time bucket. Values of numeric columns are aggregated with the requested
+     * function and carry the time of the first value in the bucket, all other values are aggregated with
+     * {@link Aggregation#LAST}. State filter and paging apply to the aggregated values.
+     */
+    protected String histItemAggregateQueryProvider(AggregateFilterCriteria filter, String table, String itemType,
+            @Nullable Unit<? extends Quantity<?>> unit, ZoneId timeZone) {
+        logger.debug("JDBC::histItemAggregateQueryProvider filter = {}, table = {}, itemType = {}", filter, table,
+                itemType);
+
+        String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME>'" + JDBC_DATE_FORMAT.format(filter.getBeginDate().withZoneSameInstant(timeZone))
+                    + "'";
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<'" + JDBC_DATE_FORMAT.format(filter.getEndDate().withZoneSameInstant(timeZone))
+                    + "'";
+        }
+        String groupString = " GROUP BY " + sqlTimeBucket(filter.getBucketSize().getSeconds());
+        String orderString = (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY 1 ASC" : " ORDER BY 1 DESC";
+        if (filter.getPageSize() != 0x7fffffff) {
+            orderString += sqlPaging(filter.getPageNumber() * filter.getPageSize(), filter.getPageSize());
+        }
+
+        Aggregation aggregation = isNumericSqlType(getSqlTypes().get(itemType)) ? filter.getAggregation()
+                : Aggregation.LAST;
+        String stateString = "";
+        State state = filter.getState();
+        Operator operator = filter.getOperator();
+        if (state != null && operator != null) {
+            stateString = " " + sqlOperator(operator) + " " + sqlStateLiteral(state, unit);
+        }
+        String queryString;
+        if (aggregation == Aggregation.LAST) {
+            queryString = "SELECT time, value FROM " + table + " WHERE time IN (SELECT MAX(time) FROM " + table
+                    + filterString + groupString + ")" + (stateString.isEmpty() ? "" : " AND value" + stateString)
+                    + orderString;
+        } else {
+            queryString = "SELECT MIN(time), " + aggregation.name() + "(value) FROM " + table + filterString
+                    + groupString + (stateString.isEmpty() ? "" : " HAVING " + aggregation.name() + "(value)"
+                            + stateString)
+                    + orderString;
+        }
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * SQL clause skipping 'offset' rows and returning at most 'limit' rows.
+     */
+    protected String sqlPaging(int offset, int limit) {
+        return " LIMIT " + offset + "," + limit;
+    }
+
+    private String sqlOperator(Operator operator) {
+        switch (operator) {
+            case GT:
+                return ">";
+            case GTE:
+                return ">=";
+            case LT:
+                return "<";
+            case LTE:
+                return "<=";
+            case NEQ:
+                return "<>";
+            default:
+                return "=";
+        }
+    }
+
+    /**
+     * SQL literal of a filter state, numbers are converted to the unit they are stored in.
+     */
+    private String sqlStateLiteral(State state, @Nullable Unit<? extends Quantity<?>> unit) {
+        State convertedState = state;
+        if (state instanceof QuantityType && unit != null && !Units.ONE.equals(unit)) {
+            State s = ((QuantityType<?>) state).toUnit(unit);
+            if (s != null) {
+                convertedState = s;
+            }
+        }
+        if (convertedState instanceof QuantityType) {
+            return ((QuantityType<?>) convertedState).toBigDecimal().toPlainString();
+        } else if (convertedState instanceof DecimalType) {
+            return ((DecimalType) convertedState).toBigDecimal().toPlainString();
+        }
+        return "'" + convertedState.toString().replace("'", "''") + "'";
+    }
+
+    /**
+     * SQL expression numbering the time bucket of the 'time' column, each bucket covering the given seconds.
+     */
+    protected String sqlTimeBucket(long bucketSeconds) {
+        return "FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ")";
+    }
+
     private String updateItemTableNamesProvider(List<ItemVO> namesList) {
         logger.debug("JDBC::updateItemTableNamesProvider namesList.size = {}", namesList.size());
         String queryString = "";
@@ -500,8 +667,9 @@ public class JdbcBaseDAO {
                 return unit == null ? new DecimalType((BigDecimal) v)
                         : QuantityType.valueOf(((BigDecimal) v).doubleValue(), unit);
             } else if (it.toUpperCase().contains("INT")) {
-                return unit == null ? new DecimalType(((Integer) v).intValue())
-                        : QuantityType.valueOf(((Integer) v).doubleValue(), unit);
+                // aggregated values of integer columns may be returned as decimals, which must not be truncated
+                return unit == null ? new DecimalType(new BigDecimal(v.toString()))
+                        : QuantityType.valueOf(((Number) v).doubleValue(), unit);
             }
             return unit == null ? DecimalType.valueOf(((String) v).toString())
                     : QuantityType.valueOf(((String) v).toString());
@@ -525,6 +693,20 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * SQL fragment used in place of 'tablePrimaryValue' for batched inserts.
+     */
+    protected String sqlBatchPrimaryValue() {
+        return "?";
+    }
+
+    /**
+     * Parameter bound to {@link #sqlBatchPrimaryValue()} for batched inserts.
+     */
+    protected Object batchPrimaryValue(ItemVO vo) {
+        return new Timestamp(vo.getTime().getTime());
+    }
+
     protected ZonedDateTime objectAsDate(Object v) {
         if (v instanceof java.lang.String) {
             return ZonedDateTime.ofInstant(Timestamp.valueOf(v.toString()).toInstant(), ZoneId.systemDefault());
@@ -542,10 +724,19 @@ public class JdbcBaseDAO {
     }
 
     protected Integer objectAsInteger(Object v) {
-        if (v instanceof Byte) {
-            return ((Byte) v).intValue();
+        if (v instanceof Number) {
+            return ((Number) v).intValue();
         }
-        return ((Integer) v).intValue();
+        return Integer.valueOf(v.toString().trim());
+    }
+
+    protected boolean isNumericSqlType(@Nullable String sqlType) {
+        if (sqlType == null) {
+            return false;
+        }
+        String type = sqlType.toUpperCase();
+        return type.contains("DOUBLE") || type.contains("DECIMAL") || type.contains("NUMERIC") || type.contains("INT")
+                || type.contains("FLOAT") || type.contains("REAL");
     }
 
     public String getItemType(Item i) {
@@ -585,6 +776,10 @@ public class JdbcBaseDAO {
         return sqlTypes;
     }
 
+    public SqlStatementCache getSqlStatementCache() {
+        return sqlStatementCache;
+    }
+
     public String getDataType(Item item) {
         return sqlTypes.get(getItemType(item));
     }
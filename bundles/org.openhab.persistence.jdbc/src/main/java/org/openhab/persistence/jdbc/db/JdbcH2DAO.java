@@ -15,6 +15,7 @@ package org.openhab.persistence.jdbc.db;
 import org.knowm.yank.Yank;
 import org.openhab.core.items.Item;
 import org.openhab.persistence.jdbc.model.ItemVO;
+import org.openhab.persistence.jdbc.utils.SqlStatementCache.Operation;
 import org.openhab.persistence.jdbc.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,15 +73,23 @@ public class JdbcH2DAO extends JdbcBaseDAO {
      *************/
     @Override
     public void doStoreItemValue(Item item, ItemVO vo) {
-        vo = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
-                new String[] { vo.getTableName(), vo.getDbType(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = new Object[] { vo.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, vo.getValue());
+        ItemVO storedVO = storeItemValueProvider(item, vo);
+        String sql = sqlStatementCache.get(Operation.INSERT_ITEM_VALUE, storedVO.getTableName(),
+                tableName -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                        new String[] { tableName, storedVO.getDbType(), sqlTypes.get("tablePrimaryValue") }));
+        Object[] params = new Object[] { storedVO.getValue() };
+        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         Yank.execute(sql, params);
     }
 
+    @Override
+    protected String sqlInsertItemValues(String tableName, ItemVO vo) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { tableName, vo.getDbType(), sqlBatchPrimaryValue() });
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
@@ -88,6 +97,10 @@ public class JdbcH2DAO extends JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+    @Override
+    protected String sqlTimeBucket(long bucketSeconds) {
+        return "DATEDIFF('SECOND', TIMESTAMP '1970-01-01 00:00:00', time) / " + bucketSeconds;
+    }
 
     /******************************
      * public Getters and Setters *
@@ -16,6 +16,7 @@ import org.knowm.yank.Yank;
 import org.openhab.core.items.Item;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
+import org.openhab.persistence.jdbc.utils.SqlStatementCache.Operation;
 import org.openhab.persistence.jdbc.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -102,15 +103,24 @@ public class JdbcHsqldbDAO extends JdbcBaseDAO {
      *************/
     @Override
     public void doStoreItemValue(Item item, ItemVO vo) {
-        vo = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#dbType#", "#tableName#", "#tablePrimaryValue#" }, new String[] {
-                        vo.getTableName(), vo.getDbType(), vo.getTableName(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = new Object[] { vo.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, vo.getValue());
+        ItemVO storedVO = storeItemValueProvider(item, vo);
+        String sql = sqlStatementCache.get(Operation.INSERT_ITEM_VALUE, storedVO.getTableName(),
+                tableName -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#dbType#", "#tableName#", "#tablePrimaryValue#" },
+                        new String[] { tableName, storedVO.getDbType(), tableName,
+                                sqlTypes.get("tablePrimaryValue") }));
+        Object[] params = new Object[] { storedVO.getValue() };
+        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         Yank.execute(sql, params);
     }
 
+    @Override
+    protected String sqlInsertItemValues(String tableName, ItemVO vo) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tableName#", "#tablePrimaryValue#" },
+                new String[] { tableName, vo.getDbType(), tableName, sqlBatchPrimaryValue() });
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
@@ -118,6 +128,16 @@ public class JdbcHsqldbDAO extends JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+    @Override
+    protected String sqlBatchPrimaryValue() {
+        // the row value constructor of the MERGE statement needs a typed parameter
+        return "CAST( ? as " + sqlTypes.get("tablePrimaryKey") + ")";
+    }
+
+    @Override
+    protected String sqlTimeBucket(long bucketSeconds) {
+        return "DATEDIFF('second', TIMESTAMP '1970-01-01 00:00:00', time) / " + bucketSeconds;
+    }
 
     /******************************
      * public Getters and Setters *
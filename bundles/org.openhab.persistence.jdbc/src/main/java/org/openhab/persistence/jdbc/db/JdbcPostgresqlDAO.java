@@ -21,6 +21,7 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
+import org.openhab.persistence.jdbc.utils.SqlStatementCache.Operation;
 import org.openhab.persistence.jdbc.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -132,15 +133,23 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
      *************/
     @Override
     public void doStoreItemValue(Item item, ItemVO vo) {
-        vo = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
-                new String[] { vo.getTableName(), vo.getDbType(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = new Object[] { vo.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, vo.getValue());
+        ItemVO storedVO = storeItemValueProvider(item, vo);
+        String sql = sqlStatementCache.get(Operation.INSERT_ITEM_VALUE, storedVO.getTableName(),
+                tableName -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                        new String[] { tableName, storedVO.getDbType(), sqlTypes.get("tablePrimaryValue") }));
+        Object[] params = new Object[] { storedVO.getValue() };
+        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         Yank.execute(sql, params);
     }
 
+    @Override
+    protected String sqlInsertItemValues(String tableName, ItemVO vo) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { tableName, vo.getDbType(), sqlBatchPrimaryValue() });
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
@@ -183,6 +192,15 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+    @Override
+    protected String sqlPaging(int offset, int limit) {
+        return " OFFSET " + offset + " LIMIT " + limit;
+    }
+
+    @Override
+    protected String sqlTimeBucket(long bucketSeconds) {
+        return "FLOOR(EXTRACT(EPOCH FROM time) / " + bucketSeconds + ")";
+    }
 
     /******************************
      * public Getters and Setters *
@@ -60,6 +60,12 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private boolean batchWrite = false;
+    private int batchSize = 100;
+    private int batchFlushInterval = 1000;
+    private int batchQueueSize = 10000;
+    private int queryFetchSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -173,6 +179,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bw = (String) configuration.get("batchWrite");
+        if (bw != null && !bw.isBlank()) {
+            batchWrite = Boolean.parseBoolean(bw);
+            logger.debug("JDBC::updateConfig: batchWrite={}", batchWrite);
+        }
+
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Math.max(1, Integer.parseInt(bs));
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bf = (String) configuration.get("batchFlushInterval");
+        if (bf != null && !bf.isBlank() && isNumericPattern.matcher(bf).matches()) {
+            batchFlushInterval = Math.max(10, Integer.parseInt(bf));
+            logger.debug("JDBC::updateConfig: batchFlushInterval={}", batchFlushInterval);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Math.max(batchSize, Integer.parseInt(bq));
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String qf = (String) configuration.get("queryFetchSize");
+        if (qf != null && !qf.isBlank() && isNumericPattern.matcher(qf).matches()) {
+            queryFetchSize = Math.max(0, Integer.parseInt(qf));
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -350,6 +386,26 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    public boolean getBatchWrite() {
+        return batchWrite;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchFlushInterval() {
+        return batchFlushInterval;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
@@ -373,6 +429,8 @@ public class JdbcConfiguration {
         dBDAO.initAfterFirstDbConnection();
         // Running once again to prior external configured SqlTypes!
         setSqlTypes();
+        // Statements may depend on the changed SqlTypes
+        dBDAO.getSqlStatementCache().clear();
         this.dbConnected = dbConnected;
     }
 
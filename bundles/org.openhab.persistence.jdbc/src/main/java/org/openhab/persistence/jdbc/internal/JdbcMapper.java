@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.knowm.yank.Yank;
@@ -25,9 +26,11 @@ import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
+import org.openhab.persistence.jdbc.model.AggregateFilterCriteria;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
 import org.openhab.persistence.jdbc.model.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.utils.ChunkedQueryIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +48,8 @@ public class JdbcMapper {
     protected int errCnt;
     protected boolean initialized = false;
     protected JdbcConfiguration conf = null;
-    protected final Map<String, String> sqlTables = new HashMap<>();
+    // Item name to table name, read on every store and query
+    protected final Map<String, String> sqlTables = new ConcurrentHashMap<>();
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
     private static final String ITEM_NAME_PATTERN = "[^a-zA-Z_0-9\\-]";
@@ -159,6 +163,29 @@ public class JdbcMapper {
         return item;
     }
 
+    public ItemVO prepareItemValue(Item item) {
+        logger.debug("JDBC::prepareItemValue: item={}", item);
+        String tableName = getTable(item);
+        if (tableName == null) {
+            logger.error("JDBC::store: Unable to store item '{}'.", item.getName());
+            return null;
+        }
+        return conf.getDBDAO().doPrepareItemValue(item, new ItemVO(tableName, null));
+    }
+
+    public void storeItemValues(List<ItemVO> vol) {
+        logger.debug("JDBC::storeItemValues: table={} count={}", vol.get(0).getTableName(), vol.size());
+        long timerStart = System.currentTimeMillis();
+        try {
+            conf.getDBDAO().doStoreItemValues(vol);
+        } catch (RuntimeException e) {
+            errCnt++;
+            throw e;
+        }
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
             Item item) {
         logger.debug(
@@ -177,6 +204,30 @@ public class JdbcMapper {
         return null;
     }
 
+    /**
+     * Reads the result of the filter query in chunks of 'queryFetchSize' rows while iterating, every chunk is an
+     * ordinary {@link #getHistItemFilterQuery} returning its connection to the pool before the next one.
+     */
+    public Iterable<HistoricItem> streamHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item) {
+        logger.debug("JDBC::streamHistItemFilterQuery numberDecimalcount='{}' table='{}' itemName='{}' fetchSize='{}'",
+                numberDecimalcount, table, item.getName(), conf.getQueryFetchSize());
+        int fetchSize = conf.getQueryFetchSize();
+        return () -> new ChunkedQueryIterator(filter, fetchSize,
+                chunkFilter -> getHistItemFilterQuery(chunkFilter, numberDecimalcount, table, item));
+    }
+
+    public List<HistoricItem> getHistItemAggregateQuery(AggregateFilterCriteria filter, String table, Item item) {
+        logger.debug("JDBC::getHistItemAggregateQuery aggregation='{}' bucketSize='{}' table='{}' itemName='{}'",
+                filter.getAggregation(), filter.getBucketSize(), table, item.getName());
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetHistItemAggregateQuery(item, filter, table,
+                timeZoneProvider.getTimeZone());
+        logTime("getHistItemAggregateQuery", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     /***********************
      * DATABASE CONNECTION *
      ***********************/
@@ -240,6 +291,16 @@ public class JdbcMapper {
     }
 
     protected String getTable(Item item) {
+        String tableName = sqlTables.get(item.getName());
+
+        // Table already exists - return the name
+        if (tableName != null) {
+            return tableName;
+        }
+        return createTable(item);
+    }
+
+    private synchronized String createTable(Item item) {
         int rowId = 0;
         ItemsVO isvo;
         ItemVO ivo;
@@ -247,7 +308,7 @@ public class JdbcMapper {
         String itemName = item.getName();
         String tableName = sqlTables.get(itemName);
 
-        // Table already exists - return the name
+        // Table has been created by another thread in the meantime
         if (tableName != null) {
             return tableName;
         }
@@ -295,6 +356,19 @@ public class JdbcMapper {
         return tableName;
     }
 
+    /**
+     * Drops cached statements of the item's table, e.g. because the item type and thereby the SQL type of the value
+     * may have changed.
+     */
+    protected void invalidateItem(String itemName) {
+        String tableName = sqlTables.get(itemName);
+        if (tableName != null && conf != null) {
+            logger.debug("JDBC::invalidateItem: item '{}' changed, dropping cached statements of table '{}'", itemName,
+                    tableName);
+            conf.getDBDAO().getSqlStatementCache().invalidate(tableName);
+        }
+    }
+
     private void formatTableNames() {
         boolean tmpinit = initialized;
         if (tmpinit) {
@@ -19,6 +19,7 @@ import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
@@ -32,6 +33,8 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.jdbc.model.AggregateFilterCriteria;
+import org.openhab.persistence.jdbc.model.ItemVO;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
@@ -60,6 +63,24 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
 
     private final ItemRegistry itemRegistry;
 
+    private @Nullable JdbcWriteQueue writeQueue;
+
+    private final RegistryChangeListener<Item> itemRegistryListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Item element) {
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidateItem(element.getName());
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidateItem(element.getName());
+        }
+    };
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -81,6 +102,7 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
     public void activate(BundleContext bundleContext, Map<Object, Object> configuration) {
         logger.debug("JDBC::activate: persistence service activated");
         updateConfig(configuration);
+        itemRegistry.addRegistryChangeListener(itemRegistryListener);
     }
 
     /**
@@ -103,6 +125,8 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        itemRegistry.removeRegistryChangeListener(itemRegistryListener);
+        stopWriteQueue();
         // closeConnection();
         initialized = false;
     }
@@ -139,6 +163,16 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
                     item, errCnt, conf.getErrReconnectThreshold());
             return;
         }
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            ItemVO vo = prepareItemValue(item);
+            if (vo != null) {
+                writeQueue.add(vo);
+                logger.debug("JDBC: Queued item '{}' as '{}', queue size {}.", item.getName(), item.getState(),
+                        writeQueue.getQueueSize());
+            }
+            return;
+        }
         long timerStart = System.currentTimeMillis();
         storeItemValue(item);
         logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), item.getState(),
@@ -201,8 +235,18 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
             table = getTable(item);
         }
 
+        // if enabled, large results are read from the database in chunks while iterating instead of at once
+        int fetchSize = conf.getQueryFetchSize();
+        if (!(filter instanceof AggregateFilterCriteria) && fetchSize > 0 && filter.getPageNumber() == 0
+                && filter.getPageSize() > fetchSize) {
+            logger.debug("JDBC::query: streaming query for {} with fetchSize {}", itemName, fetchSize);
+            return streamHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+        }
+
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+        List<HistoricItem> items = filter instanceof AggregateFilterCriteria
+                ? getHistItemAggregateQuery((AggregateFilterCriteria) filter, table, item)
+                : getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
 
         logger.debug("JDBC::query: query for {} returned {} rows in {} ms", itemName, items.size(),
                 System.currentTimeMillis() - timerStart);
@@ -215,6 +259,7 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteQueue();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             checkDBSchema();
@@ -224,9 +269,31 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
             initialized = false;
         }
 
+        if (conf.valid && conf.getBatchWrite()) {
+            JdbcWriteQueue writeQueue = new JdbcWriteQueue(this, conf.getBatchSize(), conf.getBatchFlushInterval(),
+                    conf.getBatchQueueSize());
+            writeQueue.start();
+            this.writeQueue = writeQueue;
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void stopWriteQueue() {
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            this.writeQueue = null;
+            writeQueue.stop();
+        }
+    }
+
+    /**
+     * Returns the write-behind queue if 'batchWrite' is enabled, e.g. to read its counters.
+     */
+    public @Nullable JdbcWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jdbc.model.ItemVO;
+import org.openhab.persistence.jdbc.utils.MovingAverage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded write-behind queue for item values.
+ *
+ * Values are grouped per item table and written with JDBC batch inserts, either as soon as 'batchSize' values are
+ * pending or every 'batchFlushInterval' milliseconds. If the queue is full, the storing thread waits for the next
+ * flush and writes the value itself if there is still no room. While the database is not accessible the values stay
+ * queued, a failed batch counts as a database error of the {@link JdbcMapper} like a failed single write.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueue {
+    private static final String THREADPOOL_NAME = "jdbcPersistenceWriter";
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcWriteQueue.class);
+
+    private final JdbcMapper mapper;
+    private final int batchSize;
+    private final int flushInterval;
+    private final BlockingQueue<ItemVO> queue;
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory(THREADPOOL_NAME));
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
+    // read lock for adding values, write lock for stopping, so no value is added after the final flush
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    private boolean stopped = false;
+
+    // Counters
+    private final AtomicLong queuedCnt = new AtomicLong();
+    private final AtomicLong writtenCnt = new AtomicLong();
+    private final AtomicLong failedCnt = new AtomicLong();
+    private final AtomicLong overflowCnt = new AtomicLong();
+    private final AtomicLong batchCnt = new AtomicLong();
+    private final MovingAverage batchTimeAverage = new MovingAverage(100);
+    private volatile long lastBatchTime;
+
+    public JdbcWriteQueue(JdbcMapper mapper, int batchSize, int flushInterval, int queueSize) {
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    public void start() {
+        logger.debug("JDBC::JdbcWriteQueue: starting with batchSize={} flushInterval={} ms queueSize={}", batchSize,
+                flushInterval, queue.remainingCapacity());
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background writer and writes all values that are still pending.
+     */
+    public void stop() {
+        stopLock.writeLock().lock();
+        try {
+            stopped = true;
+        } finally {
+            stopLock.writeLock().unlock();
+        }
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(flushInterval + 5000L, TimeUnit.MILLISECONDS)) {
+                logger.warn("JDBC::JdbcWriteQueue: writer did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+        logger.info(
+                "JDBC::JdbcWriteQueue: stopped. queued={} written={} failed={} overflows={} batches={} avgBatchTime={} ms",
+                queuedCnt.get(), writtenCnt.get(), failedCnt.get(), overflowCnt.get(), batchCnt.get(),
+                getAverageBatchTime());
+    }
+
+    public void add(ItemVO vo) {
+        boolean isStopped;
+        stopLock.readLock().lock();
+        try {
+            isStopped = stopped;
+            if (!isStopped && enqueue(vo)) {
+                return;
+            }
+        } finally {
+            stopLock.readLock().unlock();
+        }
+        if (isStopped) {
+            logger.debug("JDBC::JdbcWriteQueue: stopped, writing value for table '{}' directly", vo.getTableName());
+        } else {
+            overflowCnt.incrementAndGet();
+            logger.warn("JDBC::JdbcWriteQueue: queue is full, writing value for table '{}' directly",
+                    vo.getTableName());
+        }
+        write(List.of(vo));
+    }
+
+    private boolean enqueue(ItemVO vo) {
+        if (queue.offer(vo)) {
+            queuedCnt.incrementAndGet();
+            if (queue.size() >= batchSize) {
+                requestFlush();
+            }
+            return true;
+        }
+
+        // queue is full: make the storing thread wait for the writer
+        requestFlush();
+        try {
+            if (queue.offer(vo, flushInterval, TimeUnit.MILLISECONDS)) {
+                queuedCnt.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void requestFlush() {
+        if (!scheduler.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flush(false);
+    }
+
+    /**
+     * @param force true to write the pending values even if the database did not answer the accessibility check
+     */
+    private synchronized void flush(boolean force) {
+        flushRequested.set(false);
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (!force && !mapper.checkDBAccessability()) {
+            logger.debug("JDBC::JdbcWriteQueue: database not accessible, keeping {} values queued", queue.size());
+            return;
+        }
+        List<ItemVO> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<ItemVO>> tableValues = new LinkedHashMap<>();
+        for (ItemVO vo : pending) {
+            tableValues.computeIfAbsent(vo.getTableName(), k -> new ArrayList<>()).add(vo);
+        }
+        for (List<ItemVO> vol : tableValues.values()) {
+            for (int i = 0; i < vol.size(); i += batchSize) {
+                write(vol.subList(i, Math.min(i + batchSize, vol.size())));
+            }
+        }
+        logger.debug("JDBC::JdbcWriteQueue: flushed {} values of {} tables, queueSize={} lastBatchTime={} ms",
+                pending.size(), tableValues.size(), queue.size(), lastBatchTime);
+    }
+
+    private void write(List<ItemVO> vol) {
+        long timerStart = System.currentTimeMillis();
+        try {
+            mapper.storeItemValues(vol);
+            writtenCnt.addAndGet(vol.size());
+        } catch (RuntimeException e) {
+            // JdbcMapper counted the error for its reconnect handling
+            failedCnt.addAndGet(vol.size());
+            logger.warn("JDBC::JdbcWriteQueue: writing {} values to table '{}' failed: {}", vol.size(),
+                    vol.get(0).getTableName(), e.getMessage());
+        }
+        lastBatchTime = System.currentTimeMillis() - timerStart;
+        batchCnt.incrementAndGet();
+        synchronized (batchTimeAverage) {
+            batchTimeAverage.add(lastBatchTime);
+        }
+    }
+
+    /******************************
+     * public Getters and Setters *
+     ******************************/
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getQueuedCount() {
+        return queuedCnt.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCnt.get();
+    }
+
+    public long getFailedCount() {
+        return failedCnt.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCnt.get();
+    }
+
+    public long getBatchCount() {
+        return batchCnt.get();
+    }
+
+    public long getLastBatchTime() {
+        return lastBatchTime;
+    }
+
+    public double getAverageBatchTime() {
+        synchronized (batchTimeAverage) {
+            return batchTimeAverage.getAverageDouble();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.utils;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Iterates over the result of a filter query, reading at most 'chunkSize' rows per query.
+ *
+ * Every chunk is an ordinary query continuing after the time of the last row of the previous chunk, so no connection
+ * is held between two chunks and an abandoned iterator does not keep any database resources. Filter queries compare
+ * times with second precision, rows of the previous chunk are therefore skipped by their exact time.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ChunkedQueryIterator implements Iterator<HistoricItem> {
+    private final FilterCriteria filter;
+    private final Function<FilterCriteria, List<HistoricItem>> query;
+    private final boolean ascending;
+
+    private int chunkSize;
+    private long remaining;
+    private @Nullable ZonedDateTime lastTime;
+    private Iterator<HistoricItem> chunk = List.<HistoricItem> of().iterator();
+    private @Nullable HistoricItem next;
+    private boolean lastChunk = false;
+    private boolean ended = false;
+
+    /**
+     * @param filter filter of the whole query, only its first page is read
+     * @param chunkSize maximum number of rows read by one query
+     * @param query reads the rows of a chunk filter
+     */
+    public ChunkedQueryIterator(FilterCriteria filter, int chunkSize,
+            Function<FilterCriteria, List<HistoricItem>> query) {
+        this.filter = filter;
+        this.chunkSize = chunkSize;
+        this.query = query;
+        this.ascending = filter.getOrdering() == Ordering.ASCENDING;
+        this.remaining = filter.getPageSize();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !ended) {
+            if (remaining <= 0) {
+                ended = true;
+            } else if (chunk.hasNext()) {
+                HistoricItem item = chunk.next();
+                ZonedDateTime last = lastTime;
+                if (last == null || (ascending ? item.getTimestamp().isAfter(last)
+                        : item.getTimestamp().isBefore(last))) {
+                    next = item;
+                }
+            } else if (lastChunk) {
+                ended = true;
+            } else {
+                readChunk();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public HistoricItem next() {
+        HistoricItem item = hasNext() ? next : null;
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        next = null;
+        lastTime = item.getTimestamp();
+        remaining--;
+        return item;
+    }
+
+    private void readChunk() {
+        ZonedDateTime last = lastTime;
+        FilterCriteria chunkFilter = new FilterCriteria().setItemName(filter.getItemName())
+                .setOrdering(filter.getOrdering()).setBeginDate(filter.getBeginDate()).setEndDate(filter.getEndDate())
+                .setPageNumber(0).setPageSize(chunkSize);
+        if (last != null) {
+            if (ascending) {
+                chunkFilter.setBeginDate(last.truncatedTo(ChronoUnit.SECONDS));
+            } else {
+                chunkFilter.setEndDate(last.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+            }
+        }
+        List<HistoricItem> rows = query.apply(chunkFilter);
+        if (rows.size() < chunkSize) {
+            lastChunk = true;
+        } else if (last != null && rows.stream().noneMatch(
+                i -> ascending ? i.getTimestamp().isAfter(last) : i.getTimestamp().isBefore(last))) {
+            // more rows within one second than fit into a chunk
+            chunkSize = (int) Math.min(Integer.MAX_VALUE, 2L * chunkSize);
+        }
+        chunk = rows.iterator();
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Holds the formatted SQL text of per-table statements, keyed by operation and table name.
+ *
+ * Statements are built once per table instead of on every call. As the SQL text stays the same, the statement
+ * caches of the JDBC drivers and the database are able to reuse their prepared statements and plans.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SqlStatementCache {
+
+    public enum Operation {
+        INSERT_ITEM_VALUE,
+        INSERT_ITEM_VALUES
+    }
+
+    // statements per table, indexed by the ordinal of the operation
+    private final List<Map<String, String>> statements = new ArrayList<>();
+
+    public SqlStatementCache() {
+        for (int i = 0; i < Operation.values().length; i++) {
+            statements.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the statement of the operation for the given table, building it with the provider if not cached yet.
+     */
+    public String get(Operation operation, String tableName, Function<String, String> provider) {
+        return statements.get(operation.ordinal()).computeIfAbsent(tableName, provider);
+    }
+
+    /**
+     * Removes all statements of the given table.
+     */
+    public void invalidate(String tableName) {
+        for (Map<String, String> operationStatements : statements) {
+            operationStatements.remove(tableName);
+        }
+    }
+
+    /**
+     * Removes all statements, e.g. after the SQL types have been changed.
+     */
+    public void clear() {
+        for (Map<String, String> operationStatements : statements) {
+            operationStatements.clear();
+        }
+    }
+}
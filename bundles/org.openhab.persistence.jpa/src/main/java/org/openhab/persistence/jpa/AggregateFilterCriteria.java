@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa;
+
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * {@link FilterCriteria} which additionally asks the service to aggregate the values into time buckets. One
+ * {@link org.openhab.core.persistence.HistoricItem} is returned per bucket which contains values, its time is the
+ * time of the first value in the bucket (the time of the selected value for {@link Aggregation#LAST}).
+ *
+ * Values are aggregated while paging through the query result, so only one bucket is held in memory at a time. Items
+ * which do not have numeric states are always aggregated with {@link Aggregation#LAST}. Paging is applied to the
+ * aggregated values.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class AggregateFilterCriteria extends FilterCriteria {
+
+    public enum Aggregation {
+        AVG,
+        MIN,
+        MAX,
+        LAST
+    }
+
+    private Aggregation aggregation = Aggregation.AVG;
+    private Duration bucketSize = Duration.ofMinutes(5);
+
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    public AggregateFilterCriteria setAggregation(Aggregation aggregation) {
+        this.aggregation = aggregation;
+        return this;
+    }
+
+    /**
+     * Sets the width of the time buckets, rounded down to whole seconds (at least one second).
+     */
+    public AggregateFilterCriteria setBucketSize(Duration bucketSize) {
+        this.bucketSize = bucketSize.getSeconds() < 1 ? Duration.ofSeconds(1) : bucketSize;
+        return this;
+    }
+}
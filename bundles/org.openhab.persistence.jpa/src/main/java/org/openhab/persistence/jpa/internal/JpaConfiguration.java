@@ -32,6 +32,8 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_FETCHSIZE = "fetchsize";
+    private static final int DEFAULT_FETCHSIZE = 1000;
 
     public static boolean isInitialized = false;
 
@@ -40,6 +42,7 @@ public class JpaConfiguration {
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int dbFetchSize;
 
     public JpaConfiguration(final Map<String, Object> properties) {
         logger.debug("Update config...");
@@ -77,6 +80,17 @@ public class JpaConfiguration {
         }
         dbSyncMapping = (String) properties.get(CFG_SYNCMAPPING);
 
+        int fetchSize = DEFAULT_FETCHSIZE;
+        Object fetchSizeParam = properties.get(CFG_FETCHSIZE);
+        if (fetchSizeParam != null) {
+            try {
+                fetchSize = Integer.parseInt(fetchSizeParam.toString());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}', using {}", CFG_FETCHSIZE, fetchSizeParam, DEFAULT_FETCHSIZE);
+            }
+        }
+        dbFetchSize = Math.max(1, fetchSize);
+
         isInitialized = true;
         logger.debug("Update config... done");
     }
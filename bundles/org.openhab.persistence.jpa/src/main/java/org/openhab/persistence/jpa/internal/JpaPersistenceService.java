@@ -12,12 +12,15 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import javax.persistence.EntityManager;
@@ -30,6 +33,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.RollershutterItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
@@ -38,6 +44,8 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.jpa.AggregateFilterCriteria;
+import org.openhab.persistence.jpa.AggregateFilterCriteria.Aggregation;
 import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
@@ -57,6 +65,8 @@ import org.slf4j.LoggerFactory;
 @Component(service = { PersistenceService.class,
         QueryablePersistenceService.class }, configurationPid = "org.openhab.jpa", configurationPolicy = ConfigurationPolicy.REQUIRE)
 public class JpaPersistenceService implements QueryablePersistenceService {
+    private static final int AGGREGATE_CHUNK_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
@@ -177,29 +187,72 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         String itemName = filter.getItemName();
         Item item = getItemFromRegistry(itemName);
 
-        String sortOrder;
-        if (filter.getOrdering() == Ordering.ASCENDING) {
-            sortOrder = "ASC";
-        } else {
-            sortOrder = "DESC";
+        if (filter instanceof AggregateFilterCriteria) {
+            return queryAggregated((AggregateFilterCriteria) filter, item);
         }
 
-        boolean hasBeginDate = false;
-        boolean hasEndDate = false;
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+        String sortOrder = ascending ? "ASC" : "DESC";
+
         String queryString = "SELECT n FROM " + JpaPersistentItem.class.getSimpleName()
                 + " n WHERE n.realName = :itemName";
         if (filter.getBeginDate() != null) {
             queryString += " AND n.timestamp >= :beginDate";
-            hasBeginDate = true;
         }
         if (filter.getEndDate() != null) {
             queryString += " AND n.timestamp <= :endDate";
-            hasEndDate = true;
         }
-        queryString += " ORDER BY n.timestamp " + sortOrder;
+        // following chunks continue after the last item of the previous chunk
+        String nextChunkQueryString = queryString + " AND (n.timestamp " + (ascending ? ">" : "<")
+                + " :lastTimestamp OR (n.timestamp = :lastTimestamp AND n.id " + (ascending ? ">" : "<")
+                + " :lastId))";
+        String order = " ORDER BY n.timestamp " + sortOrder + ", n.id " + sortOrder;
+        String firstChunkQuery = queryString + order;
+        String nextChunkQuery = nextChunkQueryString + order;
+
+        logger.debug("The query: {}", firstChunkQuery);
+
+        int firstResult = filter.getPageNumber() * filter.getPageSize();
+        int pageSize = filter.getPageSize();
+        int fetchSize = config.dbFetchSize;
+
+        // the items are read in chunks of 'fetchsize' and converted while iterating
+        return () -> new Iterator<HistoricItem>() {
+            private Iterator<JpaPersistentItem> chunk = Collections.emptyIterator();
+            private @Nullable JpaPersistentItem last;
+            private int remaining = pageSize;
+            private boolean exhausted = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!chunk.hasNext() && !exhausted) {
+                    int maxResults = Math.min(fetchSize, remaining);
+                    JpaPersistentItem lastItem = last;
+                    List<JpaPersistentItem> result = lastItem == null
+                            ? queryChunk(firstChunkQuery, filter, item, null, firstResult, maxResults)
+                            : queryChunk(nextChunkQuery, filter, item, lastItem, 0, maxResults);
+                    remaining -= result.size();
+                    exhausted = result.size() < maxResults || remaining <= 0;
+                    if (!result.isEmpty()) {
+                        last = result.get(result.size() - 1);
+                    }
+                    chunk = result.iterator();
+                }
+                return chunk.hasNext();
+            }
 
-        logger.debug("The query: {}", queryString);
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return JpaHistoricItem.fromPersistedItem(chunk.next(), item);
+            }
+        };
+    }
 
+    private List<JpaPersistentItem> queryChunk(String queryString, FilterCriteria filter, Item item,
+            @Nullable JpaPersistentItem last, int firstResult, int maxResults) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
@@ -208,28 +261,29 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.debug("Creating query...");
             Query query = em.createQuery(queryString);
             query.setParameter("itemName", item.getName());
-            if (hasBeginDate) {
+            if (filter.getBeginDate() != null) {
                 query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
             }
-            if (hasEndDate) {
+            if (filter.getEndDate() != null) {
                 query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
             }
+            if (last != null) {
+                query.setParameter("lastTimestamp", Date.from(last.getTimestamp().toInstant()));
+                query.setParameter("lastId", last.getId());
+            }
 
-            query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
-            query.setMaxResults(filter.getPageSize());
+            query.setFirstResult(firstResult);
+            query.setMaxResults(maxResults);
             logger.debug("Creating query...done");
 
             logger.debug("Retrieving result list...");
             @SuppressWarnings("unchecked")
             List<JpaPersistentItem> result = query.getResultList();
-            logger.debug("Retrieving result list...done");
-
-            List<HistoricItem> historicList = JpaHistoricItem.fromResultList(result, item);
-            logger.debug("{}", String.format("Convert to HistoricItem: %d", historicList.size()));
+            logger.debug("Retrieving result list...done: {} items", result.size());
 
             em.getTransaction().commit();
 
-            return historicList;
+            return result;
         } catch (Exception e) {
             logger.error("Error on querying database!", e);
             em.getTransaction().rollback();
@@ -240,6 +294,98 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         return Collections.emptyList();
     }
 
+    /**
+     * Aggregates the values of the item into time buckets. The values are read in chunks of
+     * {@link #AGGREGATE_CHUNK_SIZE} rows in ascending order, so only the current bucket is kept in memory besides the
+     * result. Like the plain query, every chunk continues after the last row of the previous one instead of skipping
+     * the rows already read.
+     */
+    private List<HistoricItem> queryAggregated(AggregateFilterCriteria filter, Item item) {
+        boolean numeric = item instanceof NumberItem || item instanceof DimmerItem
+                || item instanceof RollershutterItem;
+        Aggregation aggregation = numeric ? filter.getAggregation() : Aggregation.LAST;
+        long bucketMillis = filter.getBucketSize().toMillis();
+
+        String queryString = "SELECT n.timestamp, n.value, n.id FROM " + JpaPersistentItem.class.getSimpleName()
+                + " n WHERE n.realName = :itemName";
+        if (filter.getBeginDate() != null) {
+            queryString += " AND n.timestamp >= :beginDate";
+        }
+        if (filter.getEndDate() != null) {
+            queryString += " AND n.timestamp <= :endDate";
+        }
+        String order = " ORDER BY n.timestamp ASC, n.id ASC";
+        String firstChunkQuery = queryString + order;
+        String nextChunkQuery = queryString
+                + " AND (n.timestamp > :lastTimestamp OR (n.timestamp = :lastTimestamp AND n.id > :lastId))" + order;
+
+        logger.debug("The query: {}", firstChunkQuery);
+
+        List<HistoricItem> historicList = new ArrayList<>();
+        EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
+            em.getTransaction().begin();
+
+            AggregateBucket bucket = null;
+            Object[] lastRow = null;
+            int count = 0;
+            List<Object[]> rows;
+            do {
+                Query query = em.createQuery(lastRow == null ? firstChunkQuery : nextChunkQuery);
+                query.setParameter("itemName", item.getName());
+                if (filter.getBeginDate() != null) {
+                    query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
+                }
+                if (filter.getEndDate() != null) {
+                    query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
+                }
+                if (lastRow != null) {
+                    query.setParameter("lastTimestamp", lastRow[0]);
+                    query.setParameter("lastId", lastRow[2]);
+                }
+                query.setMaxResults(AGGREGATE_CHUNK_SIZE);
+                @SuppressWarnings("unchecked")
+                List<Object[]> chunk = query.getResultList();
+                rows = chunk;
+                for (Object[] row : rows) {
+                    Date timestamp = (Date) row[0];
+                    long bucketId = Math.floorDiv(timestamp.getTime(), bucketMillis);
+                    if (bucket == null || bucket.id != bucketId) {
+                        if (bucket != null) {
+                            historicList.add(bucket.toHistoricItem(item, aggregation));
+                        }
+                        bucket = new AggregateBucket(bucketId, timestamp);
+                    }
+                    bucket.add(timestamp, (String) row[1], numeric);
+                }
+                if (!rows.isEmpty()) {
+                    lastRow = rows.get(rows.size() - 1);
+                }
+                count += rows.size();
+            } while (rows.size() == AGGREGATE_CHUNK_SIZE);
+            if (bucket != null) {
+                historicList.add(bucket.toHistoricItem(item, aggregation));
+            }
+            logger.debug("Aggregated {} values into {} buckets", count, historicList.size());
+
+            em.getTransaction().commit();
+        } catch (Exception e) {
+            logger.error("Error on querying database!", e);
+            em.getTransaction().rollback();
+            return Collections.emptyList();
+        } finally {
+            em.close();
+        }
+
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            Collections.reverse(historicList);
+        }
+        int fromIndex = Math.min(historicList.size(), filter.getPageNumber() * filter.getPageSize());
+        int toIndex = (int) Math.min(historicList.size(), (long) fromIndex + filter.getPageSize());
+        return historicList.subList(fromIndex, toIndex);
+    }
+
     /**
      * Creates a new EntityManagerFactory with properties read from openhab.cfg via JpaConfiguration.
      *
@@ -260,6 +406,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         if (config.dbUserName != null && config.dbPassword == null) {
             logger.warn("JPA persistence - it is recommended to use a password to protect data store");
         }
+        properties.put("openjpa.FetchBatchSize", String.valueOf(config.dbFetchSize));
         if (config.dbSyncMapping != null && !config.dbSyncMapping.isBlank()) {
             logger.warn("You are settings openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
@@ -319,4 +466,55 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     public List<PersistenceStrategy> getDefaultStrategies() {
         return Collections.emptyList();
     }
+
+    /**
+     * Values of a single time bucket of an aggregated query.
+     */
+    private static class AggregateBucket {
+        private final long id;
+        private final Date firstTimestamp;
+        private Date lastTimestamp;
+        private String lastValue = "";
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private int count;
+
+        AggregateBucket(long id, Date firstTimestamp) {
+            this.id = id;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = firstTimestamp;
+        }
+
+        void add(Date timestamp, String value, boolean numeric) {
+            lastTimestamp = timestamp;
+            lastValue = value;
+            if (numeric) {
+                try {
+                    double d = Double.parseDouble(value);
+                    sum += d;
+                    min = Math.min(min, d);
+                    max = Math.max(max, d);
+                    count++;
+                } catch (NumberFormatException e) {
+                    // value is still used for LAST
+                }
+            }
+        }
+
+        HistoricItem toHistoricItem(Item item, Aggregation aggregation) {
+            JpaPersistentItem pItem = new JpaPersistentItem();
+            if (aggregation == Aggregation.LAST || count == 0) {
+                pItem.setTimestamp(lastTimestamp);
+                pItem.setValue(lastValue);
+            } else {
+                double value = aggregation == Aggregation.MIN ? min
+                        : aggregation == Aggregation.MAX ? max : sum / count;
+                pItem.setTimestamp(firstTimestamp);
+                // dimmer states are restored from integer values
+                pItem.setValue(item instanceof DimmerItem ? String.valueOf(Math.round(value)) : String.valueOf(value));
+            }
+            return JpaHistoricItem.fromPersistedItem(pItem, item);
+        }
+    }
 }
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+
+/**
+ * Encodes a {@link MapDbItem} into a compact binary form.
+ *
+ * The most common states are written as raw values, all other states are written as their class name and full string
+ * like {@link StateTypeAdapter} does.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializer {
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_OTHER = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_HSB = 3;
+    private static final byte TYPE_ON_OFF = 4;
+    private static final byte TYPE_OPEN_CLOSED = 5;
+    private static final byte TYPE_STRING = 6;
+
+    public byte[] serialize(MapDbItem item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeString(out, item.getName());
+            writeState(out, item.getState());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item
+     *
+     * @param data Encoded item
+     * @return Decoded item
+     * @throws IOException if the data is not a valid item
+     */
+    public MapDbItem deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            MapDbItem item = new MapDbItem();
+            item.setTimestamp(new Date(in.readLong()));
+            item.setName(readString(in));
+            item.setState(readState(in));
+            return item;
+        }
+    }
+
+    private void writeState(DataOutputStream out, State state) throws IOException {
+        // exact classes, the types extend each other
+        Class<?> type = state.getClass();
+        if (type == DecimalType.class) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == HSBType.class) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TYPE_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (type == OnOffType.class) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TYPE_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else if (type == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TYPE_OTHER);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TYPE_ON_OFF:
+                return in.readBoolean() ? OnOffType.ON : OnOffType.OFF;
+            case TYPE_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_OTHER:
+                String typeName = readString(in);
+                String value = readString(in);
+                State state = parseState(typeName, value);
+                if (state == null) {
+                    throw new IOException("Couldn't parse state '" + value + "' of type " + typeName);
+                }
+                return state;
+            default:
+                throw new IOException("Unknown state type " + type);
+        }
+    }
+
+    private @Nullable State parseState(String typeName, String value) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> stateType = (Class<? extends State>) Class.forName(typeName);
+            return TypeParser.parseState(List.of(stateType), value);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    // DataOutput.writeUTF() is limited to 64k
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
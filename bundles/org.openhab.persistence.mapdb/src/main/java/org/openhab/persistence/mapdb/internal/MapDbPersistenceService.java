@@ -24,7 +24,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,8 +35,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -43,9 +48,11 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,30 +67,49 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
+    protected static final String CONFIG_URI = "persistence:mapdb";
+
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
+    private static final String CONFIG_COMMIT_INTERVAL = "commitInterval";
+    private static final String CONFIG_COMMIT_SIZE = "commitSize";
+    private static final int DEFAULT_COMMIT_INTERVAL = 1000;
+    private static final int DEFAULT_COMMIT_SIZE = 100;
+    // items stored as JSON strings by older versions
+    private static final String JSON_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "items";
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /** holds the local instance of the MapDB database */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    private final MapDbItemSerializer serializer = new MapDbItemSerializer();
 
-    private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
-            .create();
+    // group commit: stores are committed after 'commitInterval' milliseconds or 'commitSize' stores
+    private volatile int commitInterval = DEFAULT_COMMIT_INTERVAL;
+    private volatile int commitSize = DEFAULT_COMMIT_SIZE;
+    private final AtomicInteger uncommittedStores = new AtomicInteger();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
 
     @Activate
-    public void activate() {
+    public void activate(final Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -96,7 +122,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = openMap(db);
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException) {
@@ -129,7 +155,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = openMap(db);
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -138,14 +164,58 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(final Map<String, Object> config) {
+        commitInterval = getConfigValue(config, CONFIG_COMMIT_INTERVAL, DEFAULT_COMMIT_INTERVAL);
+        commitSize = Math.max(1, getConfigValue(config, CONFIG_COMMIT_SIZE, DEFAULT_COMMIT_SIZE));
+        logger.debug("Committing stores after {} ms or {} stores", commitInterval, commitSize);
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            commit();
             db.close();
         }
     }
 
+    private int getConfigValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for '{}', using {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Opens the map of stored items, items stored as JSON by older versions are converted
+     */
+    private Map<String, byte[]> openMap(DB db) {
+        Map<String, byte[]> items = db.createTreeMap(MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        if (db.exists(JSON_MAP_NAME)) {
+            Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+            Map<String, String> jsonItems = db.getTreeMap(JSON_MAP_NAME);
+            int converted = 0;
+            for (Map.Entry<String, String> entry : jsonItems.entrySet()) {
+                MapDbItem item = mapper.<MapDbItem> fromJson(entry.getValue(), MapDbItem.class);
+                if (item != null && item.isValid()) {
+                    serialize(item).ifPresent(data -> items.put(entry.getKey(), data));
+                    converted++;
+                }
+            }
+            db.delete(JSON_MAP_NAME);
+            db.commit();
+            logger.info("Converted {} items stored by an older version of the MapDB persistence service", converted);
+        }
+        return items;
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -182,43 +252,61 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(localAlias, json);
-        commit();
-        if (logger.isDebugEnabled()) {
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+        Optional<byte[]> data = serialize(mItem);
+        if (data.isPresent()) {
+            map.put(localAlias, data.get());
+            scheduleCommit();
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         }
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        byte[] data = map.get(filter.getItemName());
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<byte[]> serialize(MapDbItem item) {
+        try {
+            return Optional.of(serializer.serialize(item));
+        } catch (IOException e) {
+            logger.warn("Couldn't serialize item '{}': {}", item.getName(), e.getMessage());
+            return Optional.empty();
+        }
     }
 
-    @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem> fromJson(json, MapDbItem.class);
-        if (item == null || !item.isValid()) {
-            logger.warn("Deserialized invalid item: {}", item);
+    private Optional<MapDbItem> deserialize(byte[] data) {
+        try {
+            MapDbItem item = serializer.deserialize(data);
+            logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+            return Optional.of(item);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Deserialized invalid item: {}", e.getMessage());
             return Optional.empty();
-        } else if (logger.isDebugEnabled()) {
-            logger.debug("Deserialized '{}' with state '{}' from '{}'", item.getName(), item.getState(), json);
         }
+    }
 
-        return Optional.of(item);
+    private void scheduleCommit() {
+        int stores = uncommittedStores.incrementAndGet();
+        if (commitInterval <= 0 || stores % commitSize == 0) {
+            threadPool.submit(this::commit);
+        } else if (commitScheduled.compareAndSet(false, true)) {
+            threadPool.schedule(this::commit, commitInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     private void commit() {
-        threadPool.submit(() -> db.commit());
+        // stores after this point schedule another commit
+        commitScheduled.set(false);
+        int stores = uncommittedStores.getAndSet(0);
+        if (stores > 0) {
+            db.commit();
+            logger.trace("Committed {} stores", stores);
+        }
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
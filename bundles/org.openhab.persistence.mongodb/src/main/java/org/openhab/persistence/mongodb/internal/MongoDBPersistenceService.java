@@ -12,19 +12,28 @@
  */
 package org.openhab.persistence.mongodb.internal;
 
+import java.net.UnknownHostException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -59,7 +68,10 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
@@ -82,19 +94,45 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
 
+    private static final int DEFAULT_FLUSH_INTERVAL = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    // documents kept for a retry while the database is not reachable
+    private static final int MAX_PENDING_DOCUMENTS = 100000;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private @NonNullByDefault({}) String url;
     private @NonNullByDefault({}) String db;
     private @NonNullByDefault({}) String collection;
     private boolean collectionPerItem;
+    private int queryFetchSize;
+    // documents are inserted in batches after 'flushInterval' milliseconds or 'batchSize' stores
+    private volatile int flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
 
     private boolean initialized = false;
 
     protected final ItemRegistry itemRegistry;
 
     private @NonNullByDefault({}) MongoClient cl;
-    private @NonNullByDefault({}) DBCollection mongoCollection;
+    // collection handles by name, the indexes are ensured when a handle is created
+    private final Map<String, DBCollection> collections = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persistence.mongodb");
+    private final Object pendingLock = new Object();
+    // guarded by pendingLock
+    private List<PendingDocument> pendingDocuments = new ArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private static class PendingDocument {
+        private final String collectionName;
+        private final DBObject document;
+
+        private PendingDocument(String collectionName, DBObject document) {
+            this.collectionName = collectionName;
+            this.document = document;
+        }
+    }
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -123,6 +161,11 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             collectionPerItem = true;
         }
 
+        queryFetchSize = getConfigValue(config, "queryFetchSize", 0);
+        flushInterval = getConfigValue(config, "flushInterval", DEFAULT_FLUSH_INTERVAL);
+        batchSize = Math.max(1, getConfigValue(config, "batchSize", DEFAULT_BATCH_SIZE));
+        logger.debug("MongoDB inserts documents after {} ms or {} stores", flushInterval, batchSize);
+
         disconnectFromDatabase();
         connectToDatabase();
 
@@ -133,9 +176,21 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        flush();
+        initialized = false;
         disconnectFromDatabase();
     }
 
+    private int getConfigValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid MongoDB {} {}, using the default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -159,26 +214,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
-        // Connect to mongodb server if we're not already connected
-        if (!isConnected()) {
-            connectToDatabase();
-        }
-
-        // If we still didn't manage to connect, then return!
-        if (!isConnected()) {
-            logger.warn(
-                    "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
-                    item);
-            return;
-        }
-
         String realName = item.getName();
-
-        // If collection Per Item is active, connect to the item Collection
-        if (collectionPerItem) {
-            connectToCollection(realName);
-        }
-
         String name = (alias != null) ? alias : realName;
         Object value = this.convertValue(item.getState());
 
@@ -188,14 +224,105 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         obj.put(FIELD_REALNAME, realName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        this.mongoCollection.save(obj);
+        addPendingDocument(collectionPerItem ? realName : collection, obj);
+
+        logger.debug("MongoDB buffered {}={}", name, value);
+    }
+
+    private void addPendingDocument(String collectionName, DBObject document) {
+        int pending;
+        synchronized (pendingLock) {
+            pendingDocuments.add(new PendingDocument(collectionName, document));
+            pending = pendingDocuments.size();
+        }
+        if (flushInterval <= 0 || pending % batchSize == 0) {
+            scheduler.submit(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Inserts the pending documents, one unordered bulk insert per collection. If the database cannot be reached, the
+     * documents of the failed collection and of all remaining ones are kept for the next flush.
+     */
+    synchronized void flush() {
+        // stores after this point schedule another flush
+        flushScheduled.set(false);
+        List<PendingDocument> documents;
+        synchronized (pendingLock) {
+            if (pendingDocuments.isEmpty()) {
+                return;
+            }
+            documents = pendingDocuments;
+            pendingDocuments = new ArrayList<>();
+        }
 
-        // If collection Per Item is active, disconnect after save.
-        if (collectionPerItem) {
-            disconnectFromCollection();
+        try {
+            // Connect to mongodb server if we're not already connected
+            if (!isConnected()) {
+                connectToDatabase();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("mongodb: No connection to database. Cannot persist {} documents! "
+                    + "Will retry connecting to database next time.", documents.size());
+            requeue(documents);
+            return;
+        }
+
+        Map<String, List<PendingDocument>> documentsByCollection = new LinkedHashMap<>();
+        for (PendingDocument document : documents) {
+            documentsByCollection.computeIfAbsent(document.collectionName, c -> new ArrayList<>()).add(document);
         }
+        List<PendingDocument> failed = new ArrayList<>();
+        for (Map.Entry<String, List<PendingDocument>> entry : documentsByCollection.entrySet()) {
+            if (!failed.isEmpty()) {
+                // the database was not reachable for a previous collection, do not wait for it again
+                failed.addAll(entry.getValue());
+                continue;
+            }
+            try {
+                BulkWriteOperation bulk = getCollection(entry.getKey()).initializeUnorderedBulkOperation();
+                for (PendingDocument document : entry.getValue()) {
+                    bulk.insert(document.document);
+                }
+                bulk.execute();
+                logger.debug("MongoDB inserted {} documents into collection {}", entry.getValue().size(),
+                        entry.getKey());
+            } catch (BulkWriteException e) {
+                // the server rejected single documents, retrying them would fail again
+                logger.warn("MongoDB failed to insert {} of {} documents into collection {}: {}",
+                        e.getWriteErrors().size(), entry.getValue().size(), entry.getKey(), e.getMessage());
+            } catch (RuntimeException e) {
+                // a MongoException like a timeout from the lazily connecting client, or the wrapped failure of
+                // getCollection
+                logger.warn("MongoDB failed to insert {} documents into collection {}, will retry: {}",
+                        entry.getValue().size(), entry.getKey(), e.getMessage());
+                failed.addAll(entry.getValue());
+            }
+        }
+        if (!failed.isEmpty()) {
+            requeue(failed);
+        }
+    }
 
-        logger.debug("MongoDB save {}={}", name, value);
+    /**
+     * Puts documents which could not be inserted back in front of the pending documents, dropping the oldest ones if
+     * more than {@link #MAX_PENDING_DOCUMENTS} are pending
+     */
+    private void requeue(List<PendingDocument> documents) {
+        int dropped;
+        synchronized (pendingLock) {
+            List<PendingDocument> requeued = new ArrayList<>(documents.size() + pendingDocuments.size());
+            requeued.addAll(documents);
+            requeued.addAll(pendingDocuments);
+            dropped = Math.max(0, requeued.size() - MAX_PENDING_DOCUMENTS);
+            pendingDocuments = dropped > 0 ? new ArrayList<>(requeued.subList(dropped, requeued.size())) : requeued;
+        }
+        if (dropped > 0) {
+            logger.warn("mongodb: Dropped {} oldest documents, more than {} documents are waiting for the database",
+                    dropped, MAX_PENDING_DOCUMENTS);
+        }
     }
 
     private Object convertValue(State state) {
@@ -240,14 +367,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private void connectToDatabase() {
         try {
             logger.debug("Connect MongoDB");
-            this.cl = new MongoClient(new MongoClientURI(this.url));
-            if (collectionPerItem) {
-                mongoCollection = cl.getDB(this.db).getCollection(this.collection);
-
-                BasicDBObject idx = new BasicDBObject();
-                idx.append(FIELD_TIMESTAMP, 1).append(FIELD_ITEM, 1);
-                this.mongoCollection.createIndex(idx);
-            }
+            this.cl = createMongoClient(new MongoClientURI(this.url));
 
             logger.debug("Connect MongoDB ... done");
         } catch (Exception e) {
@@ -257,33 +377,34 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Creates the client, which connects lazily: an unreachable server only fails the first operation
      */
-    private void connectToCollection(String collectionName) {
-        try {
-            mongoCollection = cl.getDB(this.db).getCollection(collectionName);
-
-            BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_TIMESTAMP, 1).append(FIELD_ITEM, 1);
-            this.mongoCollection.createIndex(idx);
-        } catch (Exception e) {
-            logger.error("Failed to connect to collection {}", collectionName);
-            throw new RuntimeException("Cannot connect to collection", e);
-        }
+    protected MongoClient createMongoClient(MongoClientURI uri) throws UnknownHostException {
+        return new MongoClient(uri);
     }
 
     /**
-     * Disconnects from the Collection
+     * Gets the cached handle of a collection, the first call creates the handle and ensures the (item, timestamp)
+     * index used by item queries with a time range
      */
-    private void disconnectFromCollection() {
-        this.mongoCollection = null;
+    private DBCollection getCollection(String collectionName) {
+        return collections.computeIfAbsent(collectionName, name -> {
+            try {
+                DBCollection mongoCollection = cl.getDB(this.db).getCollection(name);
+                mongoCollection.createIndex(new BasicDBObject(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1));
+                return mongoCollection;
+            } catch (Exception e) {
+                logger.error("Failed to connect to collection {}", name);
+                throw new RuntimeException("Cannot connect to collection", e);
+            }
+        });
     }
 
     /**
      * Disconnects from the database
      */
     private void disconnectFromDatabase() {
-        this.mongoCollection = null;
+        collections.clear();
         if (this.cl != null) {
             this.cl.close();
         }
@@ -304,15 +425,13 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
-        String name = filter.getItemName();
+        // the query has to see the documents which are not inserted yet
+        flush();
 
-        // If collection Per Item is active, connect to the item Collection
-        if (collectionPerItem) {
-            connectToCollection(name);
-        }
+        String name = filter.getItemName();
         Item item = getItem(name);
+        DBCollection queryCollection = getCollection(collectionPerItem ? name : collection);
 
-        List<HistoricItem> items = new ArrayList<>();
         DBObject query = new BasicDBObject();
         if (filter.getItemName() != null) {
             query.put(FIELD_ITEM, filter.getItemName());
@@ -322,47 +441,140 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             Object value = convertValue(filter.getState());
             query.put(FIELD_VALUE, new BasicDBObject(op, value));
         }
+        BasicDBObject timestampRange = new BasicDBObject();
         if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$gte", filter.getBeginDate()));
+            timestampRange.put("$gte", Date.from(filter.getBeginDate().toInstant()));
         }
-        if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$lte", filter.getBeginDate()));
+        if (filter.getEndDate() != null) {
+            timestampRange.put("$lte", Date.from(filter.getEndDate().toInstant()));
+        }
+        if (!timestampRange.isEmpty()) {
+            query.put(FIELD_TIMESTAMP, timestampRange);
         }
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        DBCursor cursor = this.mongoCollection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
-                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
-
-        while (cursor.hasNext()) {
-            BasicDBObject obj = (BasicDBObject) cursor.next();
-
-            final State state;
-            if (item instanceof NumberItem) {
-                state = new DecimalType(obj.getDouble(FIELD_VALUE));
-            } else if (item instanceof DimmerItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof SwitchItem) {
-                state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof ContactItem) {
-                state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof RollershutterItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof DateTimeItem) {
-                state = new DateTimeType(
-                        ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
-            } else {
-                state = new StringType(obj.getString(FIELD_VALUE));
+        int skip = filter.getPageNumber() * filter.getPageSize();
+        int limit = filter.getPageSize();
+
+        if (queryFetchSize <= 0 || limit <= queryFetchSize) {
+            List<HistoricItem> items = new ArrayList<>();
+            for (DBObject document : readDocuments(queryCollection, query, sortDir, skip, limit)) {
+                items.add(toHistoricItem(name, item, (BasicDBObject) document));
+            }
+            return items;
+        }
+        // documents are read in chunks of 'queryFetchSize' and converted while iterating
+        return () -> new DocumentChunkIterator(queryCollection, query, sortDir, skip, limit, name, item);
+    }
+
+    /**
+     * Reads the documents of a query and closes its cursor, so no cursor is left open on the server.
+     */
+    private List<DBObject> readDocuments(DBCollection queryCollection, DBObject query, int sortDir, int skip,
+            int limit) {
+        List<DBObject> documents = new ArrayList<>();
+        DBCursor cursor = queryCollection.find(query)
+                .sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir).append(FIELD_ID, sortDir)).skip(skip).limit(limit);
+        try {
+            while (cursor.hasNext()) {
+                documents.add(cursor.next());
+            }
+        } finally {
+            cursor.close();
+        }
+        return documents;
+    }
+
+    /**
+     * Iterates over the result of a query, reading 'queryFetchSize' documents per query. Every chunk continues after
+     * the (timestamp, _id) of the last document of the previous chunk, so no cursor is kept open between chunks.
+     */
+    private class DocumentChunkIterator implements Iterator<HistoricItem> {
+        private final DBCollection queryCollection;
+        private final DBObject query;
+        private final int sortDir;
+        private final String name;
+        private final @Nullable Item item;
+
+        private int skip;
+        private int remaining;
+        private @Nullable DBObject lastDocument;
+        private Iterator<DBObject> chunk = Collections.emptyIterator();
+        private boolean lastChunk = false;
+
+        DocumentChunkIterator(DBCollection queryCollection, DBObject query, int sortDir, int skip, int limit,
+                String name, @Nullable Item item) {
+            this.queryCollection = queryCollection;
+            this.query = query;
+            this.sortDir = sortDir;
+            this.skip = skip;
+            this.remaining = limit;
+            this.name = name;
+            this.item = item;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!chunk.hasNext() && !lastChunk && remaining > 0) {
+                int chunkSize = Math.min(queryFetchSize, remaining);
+                List<DBObject> documents = readDocuments(queryCollection, chunkQuery(), sortDir, skip, chunkSize);
+                skip = 0;
+                remaining -= documents.size();
+                lastChunk = documents.size() < chunkSize;
+                if (!documents.isEmpty()) {
+                    lastDocument = documents.get(documents.size() - 1);
+                }
+                chunk = documents.iterator();
+            }
+            return chunk.hasNext();
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            return toHistoricItem(name, item, (BasicDBObject) chunk.next());
+        }
 
-            items.add(new MongoDBItem(name, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+        private DBObject chunkQuery() {
+            DBObject last = lastDocument;
+            if (last == null) {
+                return query;
+            }
+            String op = sortDir > 0 ? "$gt" : "$lt";
+            BasicDBList after = new BasicDBList();
+            after.add(new BasicDBObject(FIELD_TIMESTAMP, new BasicDBObject(op, last.get(FIELD_TIMESTAMP))));
+            after.add(new BasicDBObject(FIELD_TIMESTAMP, last.get(FIELD_TIMESTAMP)).append(FIELD_ID,
+                    new BasicDBObject(op, last.get(FIELD_ID))));
+            BasicDBList and = new BasicDBList();
+            and.add(query);
+            and.add(new BasicDBObject("$or", after));
+            return new BasicDBObject("$and", and);
         }
+    }
 
-        // If collection Per Item is active, disconnect after save.
-        if (collectionPerItem) {
-            disconnectFromCollection();
+    private HistoricItem toHistoricItem(String name, @Nullable Item item, BasicDBObject obj) {
+        final State state;
+        if (item instanceof NumberItem) {
+            state = new DecimalType(obj.getDouble(FIELD_VALUE));
+        } else if (item instanceof DimmerItem) {
+            state = new PercentType(obj.getInt(FIELD_VALUE));
+        } else if (item instanceof SwitchItem) {
+            state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
+        } else if (item instanceof ContactItem) {
+            state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
+        } else if (item instanceof RollershutterItem) {
+            state = new PercentType(obj.getInt(FIELD_VALUE));
+        } else if (item instanceof DateTimeItem) {
+            state = new DateTimeType(
+                    ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
+        } else {
+            state = new StringType(obj.getString(FIELD_VALUE));
         }
-        return items;
+
+        return new MongoDBItem(name, state,
+                ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault()));
     }
 
     private @Nullable String convertOperator(Operator operator) {
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.osgi.framework.BundleContext;
+
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientURI;
+import com.mongodb.MongoTimeoutException;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault(value = { DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class MongoDBPersistenceServiceTest {
+    private @Mock MongoClient mongoClient;
+    private @Mock DB db;
+    private @Mock DBCollection temperatureCollection;
+    private @Mock DBCollection humidityCollection;
+    private @Mock BulkWriteOperation temperatureBulk;
+    private @Mock BulkWriteOperation humidityBulk;
+    private @Captor ArgumentCaptor<DBObject> captor;
+
+    private MongoDBPersistenceService instance;
+
+    @BeforeEach
+    public void before() {
+        instance = new MongoDBPersistenceService(mock(ItemRegistry.class)) {
+            @Override
+            protected MongoClient createMongoClient(MongoClientURI uri) {
+                return mongoClient;
+            }
+        };
+
+        Map<String, Object> config = new HashMap<>();
+        config.put("url", "mongodb://localhost:27017");
+        config.put("database", "openhab");
+        // a collection name stores every item in its own collection
+        config.put("collection", "openhab");
+        config.put("flushInterval", "60000");
+        config.put("batchSize", "100");
+        instance.activate(mock(BundleContext.class), config);
+
+        when(mongoClient.getDB("openhab")).thenReturn(db);
+    }
+
+    @AfterEach
+    public void after() {
+        instance = null;
+    }
+
+    @Test
+    public void documentsAreKeptWhenTheClientTimesOut() {
+        when(db.getCollection("Temperature")).thenReturn(temperatureCollection);
+        when(temperatureCollection.initializeUnorderedBulkOperation()).thenReturn(temperatureBulk);
+        when(temperatureBulk.execute()).thenThrow(MongoTimeoutException.class)
+                .thenReturn(mock(BulkWriteResult.class));
+
+        store("Temperature", 21.5);
+        instance.flush();
+        instance.flush();
+        instance.flush();
+
+        verify(temperatureBulk, times(2)).insert(captor.capture());
+        verify(temperatureBulk, times(2)).execute();
+        List<DBObject> inserted = captor.getAllValues();
+        assertThat(inserted.get(1), is(sameInstance(inserted.get(0))));
+        assertThat(inserted.get(0).get("value"), is(21.5));
+    }
+
+    @Test
+    public void documentsAreKeptWhenTheIndexCannotBeCreated() {
+        when(db.getCollection("Temperature")).thenReturn(temperatureCollection);
+        doThrow(MongoTimeoutException.class).doNothing().when(temperatureCollection).createIndex(any(DBObject.class));
+        when(temperatureCollection.initializeUnorderedBulkOperation()).thenReturn(temperatureBulk);
+
+        store("Temperature", 21.5);
+        instance.flush();
+        verify(temperatureCollection, never()).initializeUnorderedBulkOperation();
+
+        instance.flush();
+        verify(temperatureBulk).insert(any(DBObject.class));
+        verify(temperatureBulk).execute();
+    }
+
+    @Test
+    public void remainingCollectionsAreKeptAfterATimeout() {
+        when(db.getCollection("Temperature")).thenReturn(temperatureCollection);
+        when(db.getCollection("Humidity")).thenReturn(humidityCollection);
+        when(temperatureCollection.initializeUnorderedBulkOperation()).thenReturn(temperatureBulk);
+        when(humidityCollection.initializeUnorderedBulkOperation()).thenReturn(humidityBulk);
+        when(temperatureBulk.execute()).thenThrow(MongoTimeoutException.class)
+                .thenReturn(mock(BulkWriteResult.class));
+
+        store("Temperature", 21.5);
+        store("Humidity", 48.0);
+        instance.flush();
+        verify(db, never()).getCollection("Humidity");
+
+        instance.flush();
+        verify(temperatureBulk, times(2)).execute();
+        verify(humidityBulk).insert(captor.capture());
+        verify(humidityBulk).execute();
+        assertThat(captor.getValue().get("value"), is(48.0));
+    }
+
+    private void store(String itemName, double value) {
+        NumberItem item = new NumberItem(itemName);
+        item.setState(new DecimalType(value));
+        instance.store(item);
+    }
+}
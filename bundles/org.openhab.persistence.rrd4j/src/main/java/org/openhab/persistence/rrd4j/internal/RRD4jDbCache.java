@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the recently used databases open, so a database file is not opened again for every update or query.
+ *
+ * Every database handed out by {@link #acquire(String)} or {@link #add(String, RrdDb)} must be given back with
+ * {@link #release(String, RrdDb)}. Once more than 'capacity' databases are open, the least recently used databases
+ * which are not in use are closed.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDbCache {
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDbCache.class);
+
+    // guarded by itself, in access order
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int capacity;
+
+    private static class Entry {
+        private final RrdDb db;
+        private int users = 0;
+
+        private Entry(RrdDb db) {
+            this.db = db;
+        }
+    }
+
+    public RRD4jDbCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+        close(evict());
+    }
+
+    /**
+     * Gets an open database and marks it as used
+     *
+     * @param name Name of the database
+     * @return The database, null if it is not open
+     */
+    public @Nullable RrdDb acquire(String name) {
+        synchronized (entries) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                return null;
+            }
+            entry.users++;
+            return entry.db;
+        }
+    }
+
+    /**
+     * Adds a database opened by the caller and marks it as used
+     *
+     * @param name Name of the database
+     * @param db The opened database
+     * @return The database to use, which is an already cached one if another thread was faster
+     */
+    public RrdDb add(String name, RrdDb db) {
+        List<RrdDb> evicted;
+        RrdDb result;
+        synchronized (entries) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                entry = new Entry(db);
+                entries.put(name, entry);
+            }
+            entry.users++;
+            result = entry.db;
+            evicted = evict();
+        }
+        if (result != db) {
+            // only one handle per file is kept open
+            evicted.add(db);
+        }
+        close(evicted);
+        return result;
+    }
+
+    /**
+     * Marks a database as no longer used by the caller
+     *
+     * @param name Name of the database
+     * @param db The database to release
+     */
+    public void release(String name, RrdDb db) {
+        List<RrdDb> evicted;
+        synchronized (entries) {
+            Entry entry = entries.get(name);
+            if (entry == null || entry.db != db) {
+                // the cache has been cleared in the meantime
+                evicted = List.of(db);
+            } else {
+                entry.users--;
+                evicted = evict();
+            }
+        }
+        close(evicted);
+    }
+
+    /**
+     * Closes all databases, the databases which are still in use are closed when they are released
+     */
+    public void clear() {
+        List<RrdDb> closed = new ArrayList<>();
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                if (entry.users == 0) {
+                    closed.add(entry.db);
+                }
+            }
+            entries.clear();
+        }
+        close(closed);
+    }
+
+    private List<RrdDb> evict() {
+        List<RrdDb> evicted = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > capacity && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.users == 0) {
+                    iterator.remove();
+                    evicted.add(entry.db);
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private void close(List<RrdDb> databases) {
+        for (RrdDb db : databases) {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -18,7 +18,6 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -30,6 +29,8 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -67,12 +68,14 @@ import org.openhab.core.types.State;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
 import org.rrd4j.core.Sample;
@@ -89,8 +92,8 @@ import org.slf4j.LoggerFactory;
  * @author Karel Goderis - remove TimerThread dependency
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class,
-        QueryablePersistenceService.class }, configurationPid = "org.openhab.rrd4j", configurationPolicy = ConfigurationPolicy.OPTIONAL)
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        RRD4jPersistenceService.class }, configurationPid = "org.openhab.rrd4j", configurationPolicy = ConfigurationPolicy.OPTIONAL)
 public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final String DEFAULT_OTHER = "default_other";
@@ -100,24 +103,44 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(3,
-            new NamedThreadFactory("RRD4j"));
+    private static final String CFG_MAX_OPEN_DATABASES = "maxOpenDatabases";
+    private static final String CFG_BACKEND = "backend";
+    // memory mapped files, the default of rrd4j
+    private static final String BACKEND_NIO = "NIO";
+    // plain random access files
+    private static final String BACKEND_FILE = "FILE";
+    private static final int DEFAULT_MAX_OPEN_DATABASES = 256;
+    private static final int LOCK_STRIPES = 64;
+
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("RRD4j"));
 
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
+    // updates which are not yet written and the step size of the databases they are written to
+    private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    private final Map<String, Long> steps = new ConcurrentHashMap<>();
+
+    // a database is only opened, created and written while holding its lock
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    private final RRD4jDbCache dbCache = new RRD4jDbCache(DEFAULT_MAX_OPEN_DATABASES);
+    private volatile RrdBackendFactory backendFactory = RrdBackendFactory.getFactory(BACKEND_NIO);
+    private @Nullable ScheduledFuture<?> writeJob;
+
     private static final String DATASOURCE_STATE = "state";
 
     public static final String DB_FOLDER = getUserPersistenceDataFolder() + File.separator + "rrd4j";
 
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
 
-    private final Map<String, ScheduledFuture<?>> scheduledJobs = new HashMap<>();
-
     protected final ItemRegistry itemRegistry;
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
     }
 
     @Override
@@ -131,96 +154,127 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     @Override
-    public synchronized void store(final Item item, @Nullable final String alias) {
+    public void store(final Item item, @Nullable final String alias) {
         if (!isSupportedItemType(item)) {
             logger.trace("Ignoring item '{}' since its type {} is not supported", item.getName(), item.getType());
             return;
         }
         final String name = alias == null ? item.getName() : alias;
-        RrdDb db = getDB(name);
-        if (db != null) {
-            ConsolFun function = getConsolidationFunction(db);
-            long now = System.currentTimeMillis() / 1000;
-            if (function != ConsolFun.AVERAGE) {
-                try {
-                    // we store the last value again, so that the value change
-                    // in the database is not interpolated, but
-                    // happens right at this spot
-                    if (now - 1 > db.getLastUpdateTime()) {
-                        // only do it if there is not already a value
-                        double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
-                        if (!Double.isNaN(lastValue)) {
-                            Sample sample = db.createSample();
-                            sample.setTime(now - 1);
-                            sample.setValue(DATASOURCE_STATE, lastValue);
-                            sample.update();
-                            logger.debug("Stored '{}' as value '{}' in rrd4j database (again)", name, lastValue);
-                        }
-                    }
-                } catch (IOException e) {
-                    logger.debug("Error storing last value (again): {}", e.getMessage());
+        Double value = null;
+
+        if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
+            NumberItem nItem = (NumberItem) item;
+            QuantityType<?> qState = (QuantityType<?>) item.getState();
+            Unit<? extends Quantity<?>> unit = nItem.getUnit();
+            if (unit != null) {
+                QuantityType<?> convertedState = qState.toUnit(unit);
+                if (convertedState != null) {
+                    value = convertedState.doubleValue();
+                } else {
+                    logger.warn(
+                            "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
+                            qState, unit);
                 }
+            } else {
+                value = qState.doubleValue();
+            }
+        } else {
+            DecimalType state = item.getStateAs(DecimalType.class);
+            if (state != null) {
+                value = state.toBigDecimal().doubleValue();
+            }
+        }
+        if (value != null) {
+            // updates within the same step replace each other, the database is written once the step is over
+            long now = System.currentTimeMillis() / 1000;
+            pendingUpdates.merge(name, new PendingUpdate(value, now, now),
+                    (queued, update) -> new PendingUpdate(update.value, update.time, queued.queuedSince));
+            logger.trace("Queued '{}' as value '{}' for rrd4j database", name, value);
+        }
+    }
+
+    private void writePendingUpdates() {
+        writePendingUpdates(false);
+    }
+
+    private void writePendingUpdates(boolean force) {
+        long now = System.currentTimeMillis() / 1000;
+        for (Map.Entry<String, PendingUpdate> entry : pendingUpdates.entrySet()) {
+            String name = entry.getKey();
+            PendingUpdate update = entry.getValue();
+            Long step = steps.get(name);
+            if (!force && step != null && update.queuedSince / step >= now / step) {
+                // more updates may arrive within this step
+                continue;
+            }
+            if (pendingUpdates.remove(name, update) && !writeUpdate(name, update, now, force)) {
+                // keep it for the next run unless a newer value has arrived in the meantime
+                pendingUpdates.putIfAbsent(name, update);
+            }
+        }
+    }
+
+    /**
+     * Writes an update to the database
+     *
+     * @return false if the update could not be written yet and should be retried later
+     */
+    private boolean writeUpdate(String name, PendingUpdate update, long now, boolean force) {
+        Lock lock = getLock(name);
+        lock.lock();
+        try {
+            RrdDb db = acquireDB(name);
+            if (db == null) {
+                return true;
             }
             try {
-                Sample sample = db.createSample();
-                sample.setTime(now);
-
-                Double value = null;
-
-                if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
-                    NumberItem nItem = (NumberItem) item;
-                    QuantityType<?> qState = (QuantityType<?>) item.getState();
-                    Unit<? extends Quantity<?>> unit = nItem.getUnit();
-                    if (unit != null) {
-                        QuantityType<?> convertedState = qState.toUnit(unit);
-                        if (convertedState != null) {
-                            value = convertedState.doubleValue();
-                        } else {
-                            logger.warn(
-                                    "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
-                                    qState, unit);
-                        }
-                    } else {
-                        value = qState.doubleValue();
-                    }
-                } else {
-                    DecimalType state = item.getStateAs(DecimalType.class);
-                    if (state != null) {
-                        value = state.toBigDecimal().doubleValue();
+                steps.put(name, db.getHeader().getStep());
+                long time = update.time;
+                long lastUpdateTime = db.getLastUpdateTime();
+                if (time <= lastUpdateTime) {
+                    // at least one second step is required between two samples
+                    if (lastUpdateTime >= now && !force) {
+                        return false;
                     }
+                    time = lastUpdateTime + 1;
                 }
-                if (value != null) {
-                    if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) { // counter values must be
-                                                                                          // adjusted by stepsize
-                        value = value * db.getRrdDef().getStep();
-                    }
-                    sample.setValue(DATASOURCE_STATE, value);
-                    sample.update();
-                    logger.debug("Stored '{}' as value '{}' in rrd4j database", name, value);
-                }
-            } catch (IllegalArgumentException e) {
-                String message = e.getMessage();
-                if (message != null && message.contains("at least one second step is required")) {
-                    // we try to store the value one second later
-                    ScheduledFuture<?> job = scheduledJobs.get(name);
-                    if (job != null) {
-                        job.cancel(true);
-                        scheduledJobs.remove(name);
+                ConsolFun function = getConsolidationFunction(db);
+                if (function != ConsolFun.AVERAGE && time - 1 > lastUpdateTime) {
+                    // we store the last value again, so that the value change
+                    // in the database is not interpolated, but
+                    // happens right at this spot
+                    double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
+                    if (!Double.isNaN(lastValue)) {
+                        Sample sample = db.createSample();
+                        sample.setTime(time - 1);
+                        sample.setValue(DATASOURCE_STATE, lastValue);
+                        sample.update();
+                        logger.debug("Stored '{}' as value '{}' in rrd4j database (again)", name, lastValue);
                     }
-                    job = scheduler.schedule(() -> store(item, name), 1, TimeUnit.SECONDS);
-                    scheduledJobs.put(name, job);
-                } else {
-                    logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
                 }
-            } catch (Exception e) {
+                double value = toDatasourceValue(db, update.value);
+                Sample sample = db.createSample();
+                sample.setTime(time);
+                sample.setValue(DATASOURCE_STATE, value);
+                sample.update();
+                logger.debug("Stored '{}' as value '{}' in rrd4j database", name, value);
+            } catch (IOException | IllegalArgumentException e) {
                 logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+            } finally {
+                dbCache.release(name, db);
             }
-            try {
-                db.close();
-            } catch (IOException e) {
-                logger.debug("Error closing rrd4j database: {}", e.getMessage());
-            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double toDatasourceValue(RrdDb db, double value) throws IOException {
+        if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) {
+            // counter values must be adjusted by stepsize
+            return value * db.getRrdDef().getStep();
         }
+        return value;
     }
 
     @Override
@@ -232,7 +286,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     public Iterable<HistoricItem> query(FilterCriteria filter) {
         String itemName = filter.getItemName();
 
-        RrdDb db = getDB(itemName);
+        RrdDb db = acquireDB(itemName);
         if (db == null) {
             logger.debug("Could not find item '{}' in rrd4j database", itemName);
             return List.of();
@@ -267,6 +321,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                         && filter.getPageNumber() == 0) {
                     if (filter.getEndDate() == null) {
                         // we are asked only for the most recent value!
+                        PendingUpdate pending = pendingUpdates.get(itemName);
+                        if (pending != null) {
+                            State state = mapToState(toDatasourceValue(db, pending.value), item, unit);
+                            return List.of(new RRD4jItem(itemName, state, ZonedDateTime
+                                    .ofInstant(Instant.ofEpochSecond(pending.time), ZoneId.systemDefault())));
+                        }
                         double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
                         if (!Double.isNaN(lastValue)) {
                             HistoricItem rrd4jItem = new RRD4jItem(itemName, mapToState(lastValue, item, unit),
@@ -305,6 +365,30 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (IOException e) {
             logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
             return List.of();
+        } finally {
+            dbCache.release(itemName, db);
+        }
+    }
+
+    /**
+     * Fetches the consolidated values of an item, e.g. to draw a chart
+     *
+     * @param itemName Name of the item
+     * @param start Start of the time range in seconds
+     * @param end End of the time range in seconds
+     * @param resolution Requested time between two values in seconds, the best matching archive is used
+     * @return The fetched values, null if there is no database for the item
+     * @throws IOException if reading the database failed
+     */
+    public @Nullable FetchData fetchData(String itemName, long start, long end, long resolution) throws IOException {
+        RrdDb db = acquireDB(itemName);
+        if (db == null) {
+            return null;
+        }
+        try {
+            return db.createFetchRequest(getConsolidationFunction(db), start, end, resolution).fetchData();
+        } finally {
+            dbCache.release(itemName, db);
         }
     }
 
@@ -313,13 +397,37 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias) {
+    private Lock getLock(String name) {
+        return locks[(name.hashCode() & 0x7fffffff) % locks.length];
+    }
+
+    /**
+     * Gets the database from the cache or opens it, the caller must release the database to the cache when done
+     */
+    private @Nullable RrdDb acquireDB(String name) {
+        Lock lock = getLock(name);
+        lock.lock();
+        try {
+            RrdDb db = dbCache.acquire(name);
+            if (db == null) {
+                db = getDB(name);
+                if (db != null) {
+                    db = dbCache.add(name, db);
+                }
+            }
+            return db;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected @Nullable RrdDb getDB(String alias) {
         RrdDb db = null;
         File file = new File(DB_FOLDER + File.separator + alias + ".rrd");
         try {
             if (file.exists()) {
                 // recreate the RrdDb instance from the file
-                db = new RrdDb(file.getAbsolutePath());
+                db = new RrdDb(file.getAbsolutePath(), backendFactory);
             } else {
                 File folder = new File(DB_FOLDER);
                 if (!folder.exists()) {
@@ -328,7 +436,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 RrdDef rrdDef = getRrdDef(alias, file);
                 if (rrdDef != null) {
                     // create a new database file
-                    db = new RrdDb(rrdDef);
+                    db = new RrdDb(rrdDef, backendFactory);
                 } else {
                     logger.debug(
                             "Did not create rrd4j database for item '{}' since no rrd definition could be determined. This is likely due to an unsupported item type.",
@@ -441,6 +549,24 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     @Activate
     protected void activate(final Map<String, Object> config) {
         modified(config);
+        writeJob = scheduler.scheduleWithFixedDelay(this::writePendingUpdates, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        ScheduledFuture<?> job = writeJob;
+        if (job != null) {
+            job.cancel(false);
+            writeJob = null;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writePendingUpdates(true);
+        dbCache.clear();
     }
 
     @Modified
@@ -489,9 +615,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         if (config.isEmpty()) {
             logger.debug("using default configuration only");
+            dbCache.setCapacity(DEFAULT_MAX_OPEN_DATABASES);
+            setBackend(BACKEND_NIO);
             return;
         }
 
+        int maxOpenDatabases = DEFAULT_MAX_OPEN_DATABASES;
+        String backend = BACKEND_NIO;
+
         Iterator<String> keys = config.keySet().iterator();
         while (keys.hasNext()) {
             String key = keys.next();
@@ -501,6 +632,25 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 continue;
             }
 
+            if (key.equals(CFG_MAX_OPEN_DATABASES)) {
+                try {
+                    maxOpenDatabases = Integer.parseInt(String.valueOf(config.get(key)).trim());
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring illegal configuration: {} = {}", key, config.get(key));
+                }
+                continue;
+            }
+
+            if (key.equals(CFG_BACKEND)) {
+                String value = String.valueOf(config.get(key)).trim().toUpperCase();
+                if (value.equals(BACKEND_NIO) || value.equals(BACKEND_FILE)) {
+                    backend = value;
+                } else {
+                    logger.warn("Ignoring illegal configuration: {} = {}", key, config.get(key));
+                }
+                continue;
+            }
+
             String[] subkeys = key.split("\\.");
             if (subkeys.length != 2) {
                 logger.debug("config '{}' should have the format 'name.configkey'", key);
@@ -552,6 +702,31 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 }
             }
         }
+
+        dbCache.setCapacity(Math.max(1, maxOpenDatabases));
+        setBackend(backend);
+    }
+
+    private void setBackend(String backend) {
+        RrdBackendFactory factory = RrdBackendFactory.getFactory(backend);
+        if (factory != backendFactory) {
+            logger.debug("Using rrd4j backend {}", backend);
+            backendFactory = factory;
+            // databases are opened again with the new backend
+            dbCache.clear();
+        }
+    }
+
+    private static class PendingUpdate {
+        private final double value;
+        private final long time;
+        private final long queuedSince;
+
+        private PendingUpdate(double value, long time, long queuedSince) {
+            this.value = value;
+            this.time = time;
+            this.queuedSince = queuedSince;
+        }
     }
 
     private class RrdArchiveDef {
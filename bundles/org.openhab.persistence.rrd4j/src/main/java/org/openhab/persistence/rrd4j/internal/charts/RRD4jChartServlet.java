@@ -15,9 +15,13 @@ package org.openhab.persistence.rrd4j.internal.charts;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -26,6 +30,7 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -39,8 +44,7 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
-import org.rrd4j.ConsolFun;
-import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.FetchData;
 import org.rrd4j.graph.RrdGraph;
 import org.rrd4j.graph.RrdGraphDef;
 import org.slf4j.Logger;
@@ -79,6 +83,12 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     protected static final Map<String, Long> PERIODS = new HashMap<>();
 
+    private static final String DATASOURCE_STATE = "state";
+    private static final long FETCH_TIMEOUT_SECONDS = 30;
+
+    // the size of the pool bounds the number of parallel fetches of all charts
+    private final ExecutorService fetchPool = ThreadPoolManager.getPool("persistence.rrd4j.charts");
+
     static {
         PERIODS.put("h", -3600000L);
         PERIODS.put("4h", -14400000L);
@@ -100,6 +110,9 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Reference
     protected ItemUIRegistry itemUIRegistry;
 
+    @Reference
+    protected RRD4jPersistenceService persistenceService;
+
     @Activate
     protected void activate() {
         try {
@@ -160,30 +173,21 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      *
      * @param graphDef the graph definition to fill
      * @param item the item to add a line for
+     * @param fetchData the values to draw
      * @param counter defines the number of the datasource and is used to determine the line color
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, int counter) {
+    protected void addLine(RrdGraphDef graphDef, Item item, FetchData fetchData, int counter) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
         String label = itemUIRegistry.getLabel(item.getName());
-        String rrdName = RRD4jPersistenceService.DB_FOLDER + File.separator + item.getName() + ".rrd";
-        ConsolFun consolFun;
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
-        try {
-            RrdDb db = new RrdDb(rrdName);
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
-        } catch (IOException e) {
-            consolFun = ConsolFun.MAX;
-        }
+        graphDef.datasource(Integer.toString(counter), DATASOURCE_STATE, fetchData);
         if (item instanceof NumberItem) {
             // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
             graphDef.line(Integer.toString(counter), color, label, 2);
         } else {
             // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
             Color areaColor = AREACOLORS[counter % LINECOLORS.length];
 
             graphDef.area(Integer.toString(counter), areaColor);
@@ -222,25 +226,26 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             String items, String groups, Integer dpi, Boolean legend) throws ItemNotFoundException {
         RrdGraphDef graphDef = new RrdGraphDef();
 
-        long period = (startTime.getTime() - endTime.getTime()) / 1000;
+        long start = startTime.getTime() / 1000;
+        long end = endTime.getTime() / 1000;
 
         graphDef.setWidth(width);
         graphDef.setHeight(height);
         graphDef.setAntiAliasing(true);
         graphDef.setImageFormat("PNG");
-        graphDef.setStartTime(period);
+        graphDef.setStartTime(start);
+        graphDef.setEndTime(end);
         graphDef.setTextAntiAliasing(true);
         graphDef.setLargeFont(new Font("SansSerif", Font.PLAIN, 15));
         graphDef.setSmallFont(new Font("SansSerif", Font.PLAIN, 11));
 
-        int seriesCounter = 0;
+        List<Item> chartItems = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                chartItems.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -251,15 +256,31 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem) {
                     GroupItem groupItem = (GroupItem) item;
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    chartItems.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
 
+        // Fetch the values of all items in parallel, the graph then only has to render them
+        long resolution = Math.max(1, (end - start) / Math.max(1, width));
+        List<Future<FetchData>> fetches = new ArrayList<>(chartItems.size());
+        for (Item item : chartItems) {
+            String itemName = item.getName();
+            fetches.add(fetchPool.submit(() -> persistenceService.fetchData(itemName, start, end, resolution)));
+        }
+
+        int seriesCounter = 0;
+        for (int i = 0; i < chartItems.size(); i++) {
+            Item item = chartItems.get(i);
+            FetchData fetchData = waitForFetch(item, fetches.get(i));
+            if (fetchData != null) {
+                addLine(graphDef, item, fetchData, seriesCounter);
+            }
+            seriesCounter++;
+        }
+
         // Write the chart as a PNG image
         RrdGraph graph;
         try {
@@ -276,6 +297,25 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         return null;
     }
 
+    private FetchData waitForFetch(Item item, Future<FetchData> fetch) {
+        try {
+            FetchData fetchData = fetch.get(FETCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (fetchData == null) {
+                logger.debug("No rrd4j database for item '{}', it is not drawn.", item.getName());
+            }
+            return fetchData;
+        } catch (ExecutionException e) {
+            logger.warn("Error fetching values of item '{}': {}", item.getName(), e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            fetch.cancel(true);
+            logger.warn("Fetching values of item '{}' timed out.", item.getName());
+        } catch (InterruptedException e) {
+            fetch.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
     @Override
     public ImageType getChartType() {
         return ImageType.png;
@@ -12,7 +12,11 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +28,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,8 +46,34 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_PATHS = 256;
+    private static final int MAX_CACHED_DOCUMENTS = 16;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    // compiled paths by expression, least recently used paths are dropped first
+    private final Map<String, JsonPath> paths = Collections
+            .synchronizedMap(new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+                    return size() > MAX_CACHED_PATHS;
+                }
+            });
+
+    // parsed documents by input, several channels usually extract different fields of the same input one after the
+    // other, e.g. the MQTT binding passes the same string to all channels of a topic
+    private final Map<String, Optional<Object>> documents = Collections
+            .synchronizedMap(new LinkedHashMap<String, Optional<Object>>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Optional<Object>> eldest) {
+                    return size() > MAX_CACHED_DOCUMENTS;
+                }
+            });
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +91,8 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath path = paths.computeIfAbsent(jsonPathExpression, JsonPath::compile);
+            Object transformationResult = path.read(parse(source).orElse(null));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +108,16 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private Optional<Object> parse(String source) {
+        Optional<Object> document = documents.get(source);
+        if (document == null) {
+            // the same as JsonPath.read(String) does
+            document = Optional.ofNullable(Configuration.defaultConfiguration().jsonProvider().parse(source));
+            documents.put(source, document);
+        }
+        return document;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -57,6 +57,24 @@ public class JSonPathTransformationServiceTest {
         assertEquals("2", transformedResponse);
     }
 
+    @Test
+    public void testCachedPath() throws TransformationException {
+        // the compiled path is reused for the second call
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("carol", processor.transform("$[0].name", "[{ \"id\":3, \"name\":\"carol\" }]"));
+    }
+
+    @Test
+    public void testCachedDocument() throws TransformationException {
+        // the parsed document is reused for the other fields and after other inputs
+        final String json = "{\"temperature\":23.2,\"humidity\":45,\"battery\":\"low\"}";
+        assertEquals("23.2", processor.transform("$.temperature", json));
+        assertEquals("45", processor.transform("$.humidity", json));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("low", processor.transform("$.battery", json));
+        assertThrows(TransformationException.class, () -> processor.transform("$.unknown", json));
+    }
+
     @Test
     public void testInvalidPathThrowsException() {
         assertThrows(TransformationException.class, () -> processor.transform("$$", jsonArray));
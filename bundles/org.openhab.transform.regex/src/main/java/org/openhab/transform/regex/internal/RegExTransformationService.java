@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,6 +42,18 @@ public class RegExTransformationService implements TransformationService {
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    // compiled patterns by regular expression, least recently used patterns are dropped first
+    private final Map<String, Pattern> patterns = Collections
+            .synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            });
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -56,17 +71,21 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher matcher = patterns.computeIfAbsent(regExpression, r -> Pattern.compile(regex))
+                    .matcher(source.trim());
             if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = matcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = matcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = patterns
+                .computeIfAbsent(regExpression, r -> Pattern.compile("^" + regExpression + "$", Pattern.DOTALL))
+                .matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
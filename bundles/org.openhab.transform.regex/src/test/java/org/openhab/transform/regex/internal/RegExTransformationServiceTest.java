@@ -75,4 +75,13 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_cachedPattern() throws TransformationException {
+        // the compiled pattern is reused for the second call
+        assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        assertEquals("Off(0)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:Off,ARG:0"));
+        assertEquals("8", processor.transform("Temp: (.*)", "Temp: 8"));
+        assertNull(processor.transform("Temp: (.*)", "Humidity: 66"));
+    }
 }
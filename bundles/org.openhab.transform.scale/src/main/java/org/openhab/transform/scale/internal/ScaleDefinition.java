@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A scale file compiled into sorted, non-overlapping intervals.
+ *
+ * All limits of the ranges split the number line into the limits themselves and the open intervals between them.
+ * Each of them gets the label of the first range of the file containing it, so a lookup is a binary search. Plain
+ * decimal inputs are compared as doubles, only an input which is as a double equal to a limit is parsed into a
+ * {@link BigDecimal}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleDefinition {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final BigDecimal[] limits;
+    private final double[] approximateLimits;
+    // label of the value equal to limits[i]
+    private final @Nullable String[] limitLabels;
+    // label of the values between limits[i - 1] and limits[i], there is one interval more than limits
+    private final @Nullable String[] intervalLabels;
+
+    private final String format;
+    private final @Nullable String nonNumericLabel;
+
+    /**
+     * @param ranges the ranges with their labels in the order of the file, the first matching range wins
+     * @param format the format of the result
+     * @param nonNumericLabel the label for non numeric inputs, null if there is none
+     */
+    public ScaleDefinition(List<Map.Entry<Range, String>> ranges, String format, @Nullable String nonNumericLabel) {
+        this.format = format;
+        this.nonNumericLabel = nonNumericLabel;
+
+        // BigDecimal.compareTo() ignores the scale, 1 and 1.0 are the same limit
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Map.Entry<Range, String> range : ranges) {
+            if (range.getKey().min != null) {
+                sortedLimits.add(range.getKey().min);
+            }
+            if (range.getKey().max != null) {
+                sortedLimits.add(range.getKey().max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+        approximateLimits = new double[limits.length];
+        limitLabels = new String[limits.length];
+        intervalLabels = new String[limits.length + 1];
+        for (int i = 0; i < limits.length; i++) {
+            approximateLimits[i] = limits[i].doubleValue();
+            limitLabels[i] = findLabel(ranges, limits[i]);
+        }
+        for (int i = 0; i <= limits.length; i++) {
+            // all values of an open interval are in the same ranges, any of them will do
+            final BigDecimal value;
+            if (limits.length == 0) {
+                value = BigDecimal.ZERO;
+            } else if (i == 0) {
+                value = limits[0].subtract(BigDecimal.ONE);
+            } else if (i == limits.length) {
+                value = limits[i - 1].add(BigDecimal.ONE);
+            } else {
+                value = limits[i - 1].add(limits[i]).divide(TWO);
+            }
+            intervalLabels[i] = findLabel(ranges, value);
+        }
+    }
+
+    private static @Nullable String findLabel(List<Map.Entry<Range, String>> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> range : ranges) {
+            if (range.getKey().contains(value)) {
+                return range.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the label of a numeric input
+     *
+     * @param source the input
+     * @return the label, null if no range matches
+     * @throws NumberFormatException if the input is not a number
+     */
+    public @Nullable String getLabel(String source) throws NumberFormatException {
+        if (isPlainDecimal(source)) {
+            // rounding to double keeps the order, only a value which is equal to a limit as double needs the exact
+            // comparison. Adding 0.0 turns -0.0 into 0.0, which binarySearch would order below a limit of 0.
+            int index = Arrays.binarySearch(approximateLimits, Double.parseDouble(source) + 0.0);
+            if (index < 0) {
+                return intervalLabels[-index - 1];
+            }
+        }
+        return getLabel(new BigDecimal(source));
+    }
+
+    /**
+     * Looks up the label of a number
+     *
+     * @param value the number
+     * @return the label, null if no range matches
+     */
+    public @Nullable String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(limits, value);
+        return index >= 0 ? limitLabels[index] : intervalLabels[-index - 1];
+    }
+
+    /**
+     * Checks for an optional sign, digits and at most one decimal point, which both {@link Double#parseDouble(String)}
+     * and {@link BigDecimal#BigDecimal(String)} parse to the same number.
+     */
+    private static boolean isPlainDecimal(String source) {
+        int start = !source.isEmpty() && (source.charAt(0) == '-' || source.charAt(0) == '+') ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = start; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public @Nullable String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+}
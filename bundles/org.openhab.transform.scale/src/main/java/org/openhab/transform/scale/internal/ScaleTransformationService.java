@@ -16,12 +16,14 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
@@ -51,7 +53,7 @@ import org.slf4j.LoggerFactory;
  */
 @Component(service = { TransformationService.class, ConfigOptionProvider.class }, property = {
         "openhab.transform=SCALE" })
-public class ScaleTransformationService extends AbstractFileTransformationService<Map<Range, String>>
+public class ScaleTransformationService extends AbstractFileTransformationService<ScaleDefinition>
         implements ConfigOptionProvider {
 
     private final Logger logger = LoggerFactory.getLogger(ScaleTransformationService.class);
@@ -68,9 +70,6 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
     private static final String FORMAT_VALUE = "%value%";
     private static final String FORMAT_LABEL = "%label%";
 
-    /** Inaccessible range used to store presentation format ]0..0[ */
-    private static final Range FORMAT_RANGE = Range.range(BigDecimal.ZERO, false, BigDecimal.ZERO, false);
-
     /**
      * The implementation of {@link OrderedProperties} that let access
      * properties in the same order than presented in the source file
@@ -107,23 +106,21 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
      * The method transforms the input <code>source</code> by matching searching
      * the range where it fits i.e. [min..max]=value or ]min..max]=value
      *
-     * @param properties the list of properties defining all the available ranges
+     * @param scale the compiled ranges of the scale file
      * @param source the input to transform
      * @return the transformed result or null if the transformation couldn't be completed for any reason.
      */
     @Override
-    protected @Nullable String internalTransform(Map<Range, String> data, String source)
-            throws TransformationException {
+    protected @Nullable String internalTransform(ScaleDefinition scale, String source) throws TransformationException {
         try {
-            final BigDecimal value = new BigDecimal(source);
-            return formatResult(data, source, value);
+            return formatResult(scale, source, scale.getLabel(source));
         } catch (NumberFormatException e) {
             // Scale can only be used with numeric inputs, so lets try to see if ever its a valid quantity type
             try {
                 final QuantityType<?> quantity = new QuantityType<>(source);
-                return formatResult(data, source, quantity.toBigDecimal());
+                return formatResult(scale, source, scale.getLabel(quantity.toBigDecimal()));
             } catch (NumberFormatException e2) {
-                String nonNumeric = data.get(null);
+                String nonNumeric = scale.getNonNumericLabel();
                 if (nonNumeric != null) {
                     return nonNumeric;
                 } else {
@@ -134,25 +131,24 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
         }
     }
 
-    private String formatResult(Map<Range, String> data, String source, final BigDecimal value)
+    private String formatResult(ScaleDefinition scale, String source, @Nullable String label)
             throws TransformationException {
-        String format = data.get(FORMAT_RANGE);
-        String result = getScaleResult(data, source, value);
-        return format.replaceAll(FORMAT_VALUE, source).replaceAll(FORMAT_LABEL, result);
-    }
-
-    private String getScaleResult(Map<Range, String> data, String source, final BigDecimal value)
-            throws TransformationException {
-        return data.entrySet().stream().filter(entry -> entry.getKey() != null && entry.getKey().contains(value))
-                .findFirst().map(Map.Entry::getValue)
-                .orElseThrow(() -> new TransformationException("No matching range for '" + source + "'"));
+        if (label == null) {
+            throw new TransformationException("No matching range for '" + source + "'");
+        }
+        String format = scale.getFormat();
+        if (FORMAT_LABEL.equals(format)) {
+            return label;
+        }
+        return format.replace(FORMAT_VALUE, source).replace(FORMAT_LABEL, label);
     }
 
     @Override
-    protected Map<Range, String> internalLoadTransform(String filename) throws TransformationException {
+    protected ScaleDefinition internalLoadTransform(String filename) throws TransformationException {
         try (FileReader reader = new FileReader(filename)) {
-            final Map<Range, String> data = new LinkedHashMap<>();
-            data.put(FORMAT_RANGE, FORMAT_LABEL);
+            final List<Map.Entry<Range, String>> ranges = new ArrayList<>();
+            String format = FORMAT_LABEL;
+            String nonNumeric = null;
             final OrderedProperties properties = new OrderedProperties();
             properties.load(reader);
 
@@ -172,15 +168,15 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
                         final BigDecimal highValue = highLimit.isEmpty() ? null : new BigDecimal(highLimit);
                         final Range range = Range.range(lowValue, lowerInclusive, highValue, upperInclusive);
 
-                        data.put(range, value);
+                        ranges.add(new SimpleImmutableEntry<>(range, value));
                     } catch (NumberFormatException ex) {
                         throw new TransformationException("Error parsing bounds: " + lowLimit + ".." + highLimit);
                     }
                 } else {
                     if (NON_NUMBER.equals(entry)) {
-                        data.put(null, value);
+                        nonNumeric = value;
                     } else if (FORMAT.equals(entry)) {
-                        data.put(FORMAT_RANGE, value);
+                        format = value;
                     } else {
                         logger.warn("Scale transform file '{}' does not comply with syntax for entry : '{}', '{}'",
                                 filename, entry, value);
@@ -188,7 +184,7 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
                 }
             }
 
-            return data;
+            return new ScaleDefinition(ranges, format, nonNumeric);
         } catch (final IOException ex) {
             throw new TransformationException("An error occurred while opening file.", ex);
         }
@@ -153,4 +153,25 @@ public class ScaleTransformServiceTest {
         String transformedResponse = processor.transform(existingscale, source);
         assertEquals("", transformedResponse);
     }
+
+    @Test
+    public void testTransformAtLimits() throws TransformationException {
+        String existingscale = "scale/limits.scale";
+        assertEquals("middle", processor.transform(existingscale, "10"));
+        assertEquals("middle", processor.transform(existingscale, "10.000"));
+        // equal to the limit as double, but not as decimal
+        assertEquals("low", processor.transform(existingscale, "9.99999999999999999999"));
+        assertEquals("high", processor.transform(existingscale, "+20"));
+        assertEquals("extreme", processor.transform(existingscale, "1e3"));
+    }
+
+    @Test
+    public void testTransformAtZeroLimit() throws TransformationException {
+        String existingscale = "scale/freezing.scale";
+        assertEquals("thaw", processor.transform(existingscale, "0"));
+        // negative zero is equal to the limit
+        assertEquals("thaw", processor.transform(existingscale, "-0"));
+        assertEquals("thaw", processor.transform(existingscale, "-0.0"));
+        assertEquals("freezing", processor.transform(existingscale, "-0.1"));
+    }
 }
@@ -13,12 +13,16 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +45,42 @@ import org.xml.sax.InputSource;
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    // the factories are not thread-safe, access is synchronized on them
+    private final DocumentBuilderFactory domFactory;
+    private final XPathFactory xpathFactory = XPathFactory.newInstance();
+
+    // compiled expressions, least recently used expressions are dropped first. An expression is not thread-safe,
+    // evaluation is synchronized on it.
+    private final Map<String, XPathExpression> expressions = Collections
+            .synchronizedMap(new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_CACHED_EXPRESSIONS;
+                }
+            });
+
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
+        try {
+            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser does not support disabling external entities", e);
+        }
+        domFactory.setXIncludeAware(false);
+        domFactory.setExpandEntityReferences(false);
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -54,16 +92,10 @@ public class XPathTransformationService implements TransformationService {
         StringReader stringReader = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
-            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            DocumentBuilder builder;
+            synchronized (domFactory) {
+                builder = domFactory.newDocumentBuilder();
+            }
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
@@ -71,10 +103,12 @@ public class XPathTransformationService implements TransformationService {
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = getExpression(xpathExpression);
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            synchronized (expr) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
@@ -87,4 +121,15 @@ public class XPathTransformationService implements TransformationService {
             }
         }
     }
+
+    private XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        XPathExpression expr = expressions.get(xpathExpression);
+        if (expr == null) {
+            synchronized (xpathFactory) {
+                expr = xpathFactory.newXPath().compile(xpathExpression);
+            }
+            expressions.put(xpathExpression, expr);
+        }
+        return expr;
+    }
 }
@@ -38,4 +38,12 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXPath() throws TransformationException {
+        // the compiled expression is reused for the second call
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("12", processor.transform("//current_conditions/temp_c/@data",
+                "<current_conditions><temp_c data=\"12\"/></current_conditions>"));
+    }
 }
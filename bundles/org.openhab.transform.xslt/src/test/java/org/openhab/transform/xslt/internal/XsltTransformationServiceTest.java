@@ -14,6 +14,8 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Locale;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -27,7 +29,12 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
 
     @BeforeEach
     public void init() {
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService() {
+            @Override
+            protected Locale getLocale() {
+                return Locale.US;
+            }
+        };
     }
 
     @Test
@@ -38,4 +45,11 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXSLT() throws TransformationException {
+        // the compiled stylesheet is reused for the second call
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+    }
 }